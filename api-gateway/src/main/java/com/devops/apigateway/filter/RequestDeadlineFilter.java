@@ -0,0 +1,86 @@
+package com.devops.apigateway.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+// Gives every routed request a time budget and sends it downstream as X-Request-Budget-Ms, which each service
+// passes on with whatever is left. A client may ask for less than the default, never for more. When the budget
+// runs out the gateway answers 504 and drops the downstream connection.
+@Slf4j
+@Component
+public class RequestDeadlineFilter implements GlobalFilter, Ordered {
+
+    static final String HEADER = "X-Request-Budget-Ms";
+
+    private final long defaultBudgetMs;
+
+    public RequestDeadlineFilter(@Value("${gateway.request-budget-ms:10000}") long defaultBudgetMs) {
+        this.defaultBudgetMs = defaultBudgetMs;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        // Streaming routes (SSE with response-timeout -1, exports with request-budget-ms -1) stay open for as long
+        // as there is data, so they get no budget
+        if (route != null && isUnbudgeted(route)) {
+            return chain.filter(exchange.mutate()
+                    .request(request -> request.headers(headers -> headers.remove(HEADER)))
+                    .build());
+        }
+
+        long budgetMs = Math.min(defaultBudgetMs, requestedBudgetMs(exchange));
+        ServerWebExchange budgeted = exchange.mutate()
+                .request(request -> request.headers(headers -> headers.set(HEADER, String.valueOf(budgetMs))))
+                .build();
+        return chain.filter(budgeted)
+                .timeout(Duration.ofMillis(budgetMs))
+                .onErrorMap(TimeoutException.class, e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                        "No response within the " + budgetMs + " ms request budget", e));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private long requestedBudgetMs(ServerWebExchange exchange) {
+        String requested = exchange.getRequest().getHeaders().getFirst(HEADER);
+        if (requested == null) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            long budgetMs = Long.parseLong(requested.trim());
+            return budgetMs > 0 ? budgetMs : Long.MAX_VALUE;
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed {} header {}", HEADER, requested);
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static boolean isUnbudgeted(Route route) {
+        Long unbudgeted = -1L;
+        return unbudgeted.equals(asLong(route.getMetadata().get("response-timeout")))
+                || unbudgeted.equals(asLong(route.getMetadata().get("request-budget-ms")));
+    }
+
+    private static Long asLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return value != null ? Long.valueOf(value.toString()) : null;
+    }
+}
\ No newline at end of file
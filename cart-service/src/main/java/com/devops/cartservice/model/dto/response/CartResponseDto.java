@@ -1,5 +1,6 @@
 package com.devops.cartservice.model.dto.response;
 
+import com.devops.serviceclient.dto.ProductResponseDto;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -1,19 +1,22 @@
 package com.devops.cartservice.service;
 
-import com.devops.cartservice.client.ExternalServiceClient;
 import com.devops.cartservice.exception.ResourceNotFoundException;
 import com.devops.cartservice.model.dto.request.CartRequestDto;
 import com.devops.cartservice.model.dto.response.CartResponseDto;
-import com.devops.cartservice.model.dto.response.ProductResponseDto;
 import com.devops.cartservice.model.entity.Cart;
 import com.devops.cartservice.repository.CartRepository;
+import com.devops.serviceclient.client.ProductClient;
+import com.devops.serviceclient.client.UserClient;
+import com.devops.serviceclient.dto.ProductResponseDto;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,15 +24,20 @@ import java.util.List;
 public class CartService {
 
     private final CartRepository cartRepository;
-    private final ExternalServiceClient externalServiceClient;
+    private final UserClient userClient;
+    private final ProductClient productClient;
     private final ModelMapper modelMapper;
 
     @Transactional(readOnly = true)
     public List<CartResponseDto> getUserCart(Long userId) {
         validateUserExists(userId);
 
-        return cartRepository.findByUserId(userId).stream()
-                .map(this::mapToResponseDto)
+        // Every product in the cart comes back from one batch call instead of one call per line. A product
+        // that was deleted, or that product-service cannot supply right now, leaves its line without details.
+        List<Cart> items = cartRepository.findByUserId(userId);
+        Map<Long, ProductResponseDto> products = productClient.getProducts(items.stream().map(Cart::getProductId).toList());
+        return items.stream()
+                .map(cart -> mapToResponseDto(cart, products.get(cart.getProductId())))
                 .toList();
     }
 
@@ -90,32 +98,36 @@ public class CartService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item", "id", cartId));
     }
 
+    // Only a 404 means the user or product is missing; user-service or product-service being unavailable
+    // surfaces as DependencyUnavailableException (503) rather than as a misleading 404
     private void validateUserExists(Long userId) {
-        try {
-            externalServiceClient.getUser(userId);
-        } catch (Exception e) {
+        if (!userClient.userExists(userId)) {
             throw new ResourceNotFoundException("User", "id", userId);
         }
     }
 
     private void validateProductExists(Long productId) {
         try {
-            externalServiceClient.getProduct(productId);
-        } catch (Exception e) {
+            productClient.getProduct(productId);
+        } catch (HttpClientErrorException.NotFound e) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
     }
 
     private CartResponseDto mapToResponseDto(Cart cart) {
-        CartResponseDto dto = modelMapper.map(cart, CartResponseDto.class);
-
         // Get product details from Product Service
-        ProductResponseDto product = externalServiceClient.getProduct(cart.getProductId());
+        return mapToResponseDto(cart, productClient.getProduct(cart.getProductId()));
+    }
+
+    private CartResponseDto mapToResponseDto(Cart cart, ProductResponseDto product) {
+        CartResponseDto dto = modelMapper.map(cart, CartResponseDto.class);
         dto.setProduct(product);
 
         // Calculate subtotal
-        BigDecimal subtotal = product.getPrice().multiply(BigDecimal.valueOf(cart.getQuantity()));
-        dto.setSubtotal(subtotal);
+        if (product != null) {
+            BigDecimal subtotal = product.getPrice().multiply(BigDecimal.valueOf(cart.getQuantity()));
+            dto.setSubtotal(subtotal);
+        }
 
         return dto;
     }
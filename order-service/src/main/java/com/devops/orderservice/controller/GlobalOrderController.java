@@ -1,8 +1,12 @@
 package com.devops.orderservice.controller;
 
+import com.devops.orderservice.model.dto.request.PurchaseCheckBatchRequestDto;
 import com.devops.orderservice.model.dto.response.OrderResponseDto;
+import com.devops.orderservice.model.dto.response.PurchaseCheckResponseDto;
 import com.devops.orderservice.model.enums.OrderStatus;
 import com.devops.orderservice.service.OrderService;
+import com.devops.orderservice.service.PurchaseVerificationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +19,7 @@ import java.util.List;
 public class GlobalOrderController {
 
     private final OrderService orderService;
+    private final PurchaseVerificationService purchaseVerificationService;
 
     @GetMapping("/status/{status}")
     public ResponseEntity<List<OrderResponseDto>> getOrdersByStatus(@PathVariable OrderStatus status) {
@@ -27,4 +32,10 @@ public class GlobalOrderController {
         OrderResponseDto order = orderService.getOrderByNumber(orderNumber);
         return ResponseEntity.ok(order);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/purchase-checks")
+    public ResponseEntity<List<PurchaseCheckResponseDto>> checkPurchases(@Valid @RequestBody PurchaseCheckBatchRequestDto requestDto) {
+        List<PurchaseCheckResponseDto> results = purchaseVerificationService.checkPurchases(requestDto.getChecks());
+        return ResponseEntity.ok(results);
+    }
+}
@@ -5,11 +5,14 @@ import com.devops.orderservice.model.dto.response.OrderResponseDto;
 import com.devops.orderservice.model.enums.OrderStatus;
 import com.devops.orderservice.model.enums.PaymentStatus;
 import com.devops.orderservice.service.OrderService;
+import com.devops.orderservice.service.OrderStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,6 +22,7 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStreamService orderStreamService;
 
     @GetMapping
     public ResponseEntity<List<OrderResponseDto>> getUserOrders(@PathVariable Long userId) {
@@ -26,6 +30,13 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderUpdates(@PathVariable Long userId,
+                                                         @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = orderStreamService.subscribe(userId, lastEventId);
+        return ResponseEntity.ok(emitter);
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderResponseDto> getOrderById(@PathVariable Long userId, @PathVariable Long orderId) {
         OrderResponseDto order = orderService.getOrderById(userId, orderId);
@@ -0,0 +1,36 @@
+package com.devops.orderservice.controller;
+
+import com.devops.orderservice.model.enums.ExportFormat;
+import com.devops.orderservice.service.OrderExportService;
+import com.devops.serviceclient.deadline.RequestDeadline;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/orders/export")
+@RequiredArgsConstructor
+public class OrderExportController {
+
+    private final OrderExportService orderExportService;
+
+    @GetMapping
+    public void exportOrders(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                             @RequestParam(defaultValue = "CSV") ExportFormat format,
+                             HttpServletResponse response) throws IOException {
+        // Written on the request thread straight to the response, so no async timeout cuts a long export short,
+        // and neither does the request budget, which would otherwise cap the export query
+        RequestDeadline.clear();
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders-" + from.toLocalDate() + "-" + to.toLocalDate() + "." + format.getFileExtension() + "\"");
+        orderExportService.exportOrders(from, to, format, response.getOutputStream());
+    }
+}
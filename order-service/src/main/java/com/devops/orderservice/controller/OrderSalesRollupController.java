@@ -0,0 +1,44 @@
+package com.devops.orderservice.controller;
+
+import com.devops.orderservice.model.dto.response.OrderSalesRollupResponseDto;
+import com.devops.orderservice.model.enums.OrderStatus;
+import com.devops.orderservice.model.enums.PaymentMethod;
+import com.devops.orderservice.model.enums.PaymentStatus;
+import com.devops.orderservice.model.enums.RollupGranularity;
+import com.devops.orderservice.service.OrderSalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/orders/sales-rollups")
+@RequiredArgsConstructor
+public class OrderSalesRollupController {
+
+    private final OrderSalesRollupService orderSalesRollupService;
+
+    @GetMapping
+    public ResponseEntity<List<OrderSalesRollupResponseDto>> getRollups(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) PaymentMethod paymentMethod,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(defaultValue = "false") boolean breakdown) {
+        List<OrderSalesRollupResponseDto> rollups = orderSalesRollupService.getRollups(
+                granularity, from, to, status, paymentMethod, paymentStatus, breakdown);
+        return ResponseEntity.ok(rollups);
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildRollups() {
+        int rows = orderSalesRollupService.rebuildFromHistory();
+        return ResponseEntity.ok(Map.of("rebuiltRows", rows));
+    }
+}
@@ -0,0 +1,33 @@
+package com.devops.orderservice.controller;
+
+import com.devops.orderservice.model.dto.response.TopSellerResponseDto;
+import com.devops.orderservice.model.enums.LeaderboardWindow;
+import com.devops.orderservice.service.TopSellerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/orders/top-sellers")
+@RequiredArgsConstructor
+public class TopSellerController {
+
+    private final TopSellerService topSellerService;
+
+    @GetMapping
+    public ResponseEntity<List<TopSellerResponseDto>> getTopSellers(@RequestParam(required = false) Long categoryId,
+                                                                    @RequestParam(defaultValue = "WEEK") LeaderboardWindow window,
+                                                                    @RequestParam(defaultValue = "10") Integer limit) {
+        List<TopSellerResponseDto> topSellers = topSellerService.getTopSellers(categoryId, window, limit);
+        return ResponseEntity.ok(topSellers);
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildTopSellers() {
+        int rows = topSellerService.rebuildFromHistory();
+        return ResponseEntity.ok(Map.of("rebuiltRows", rows));
+    }
+}
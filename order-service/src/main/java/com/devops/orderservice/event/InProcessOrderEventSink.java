@@ -0,0 +1,27 @@
+package com.devops.orderservice.event;
+
+import com.devops.orderservice.model.dto.event.OrderEventDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class InProcessOrderEventSink implements OrderEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public String getName() {
+        return "in-process";
+    }
+
+    @Override
+    public void publish(List<OrderEventDto> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,16 @@
+package com.devops.orderservice.event;
+
+import com.devops.orderservice.model.dto.event.OrderEventDto;
+
+import java.util.List;
+
+public interface OrderEventSink {
+
+    String getName();
+
+    /**
+     * Delivers a batch in outbox order. Throwing leaves the whole batch in the outbox for redelivery,
+     * so sinks must tolerate seeing the same eventId more than once.
+     */
+    void publish(List<OrderEventDto> events);
+}
@@ -0,0 +1,132 @@
+package com.devops.orderservice.event;
+
+import com.devops.orderservice.model.dto.event.OrderEventDto;
+import com.devops.orderservice.model.entity.OrderOutboxEvent;
+import com.devops.orderservice.repository.OrderOutboxRepository;
+import com.devops.orderservice.service.OrderEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OrderOutboxRepository outboxRepository;
+    private final OrderEventService orderEventService;
+    private final List<OrderEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order-events.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order-events.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${order-events.outbox.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${order-events.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    private int consecutiveFailures;
+    private long pausedUntil;
+
+    @Scheduled(fixedDelayString = "${order-events.outbox.poll-interval-ms:500}")
+    public void relay() {
+        if (System.currentTimeMillis() < pausedUntil) {
+            return;
+        }
+
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            Integer delivered = transactionTemplate.execute(status -> relayNextBatch());
+            if (delivered == null || delivered < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${order-events.outbox.cleanup-interval-ms:3600000}")
+    public void purgePublishedEvents() {
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.debug("Purged {} published order events from the outbox", deleted);
+        }
+    }
+
+    private int relayNextBatch() {
+        List<OrderOutboxEvent> batch = outboxRepository.lockNextUnpublishedBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // A payload that cannot be read will never become readable, so it is parked rather than allowed to
+        // hold back every event behind it
+        List<OrderOutboxEvent> readable = new ArrayList<>(batch.size());
+        List<OrderEventDto> events = new ArrayList<>(batch.size());
+        for (OrderOutboxEvent outboxEvent : batch) {
+            try {
+                events.add(orderEventService.toEvent(outboxEvent));
+                readable.add(outboxEvent);
+            } catch (IllegalStateException e) {
+                park(outboxEvent, e);
+            }
+        }
+        if (events.isEmpty()) {
+            return batch.size();
+        }
+
+        for (OrderEventSink sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (Exception e) {
+                recordFailure(readable, sink, e);
+                return -1;
+            }
+        }
+
+        LocalDateTime publishedAt = LocalDateTime.now();
+        readable.forEach(event -> event.setPublishedAt(publishedAt));
+        consecutiveFailures = 0;
+        return batch.size();
+    }
+
+    private void park(OrderOutboxEvent outboxEvent, Exception e) {
+        outboxEvent.setAttempts(outboxEvent.getAttempts() + 1);
+        outboxEvent.setLastError(truncate(e.getCause() != null ? e.getMessage() + ": " + e.getCause().getMessage() : e.getMessage()));
+        outboxEvent.setParkedAt(LocalDateTime.now());
+        log.error("Parked order event {} of type {} for order {}: unreadable payload",
+                outboxEvent.getId(), outboxEvent.getEventType(), outboxEvent.getOrderId(), e);
+    }
+
+    private void recordFailure(List<OrderOutboxEvent> batch, OrderEventSink sink, Exception e) {
+        String truncatedError = truncate(sink.getName() + ": " + e.getMessage());
+        batch.forEach(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(truncatedError);
+        });
+
+        // Back off so a broken sink does not cause the healthy ones to be flooded with redeliveries
+        consecutiveFailures++;
+        long backoffMs = Math.min(maxBackoffMs, 500L << Math.min(consecutiveFailures, 16));
+        pausedUntil = System.currentTimeMillis() + backoffMs;
+        log.warn("Order event sink '{}' failed for {} events, retrying in {} ms: {}",
+                sink.getName(), batch.size(), backoffMs, e.getMessage());
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
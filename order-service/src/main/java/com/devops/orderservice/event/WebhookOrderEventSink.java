@@ -0,0 +1,43 @@
+package com.devops.orderservice.event;
+
+import com.devops.orderservice.model.dto.event.OrderEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@Order(2)
+@ConditionalOnProperty(prefix = "order-events.webhook", name = "url")
+public class WebhookOrderEventSink implements OrderEventSink {
+
+    private final RestTemplate restTemplate;
+    private final String webhookUrl;
+
+    public WebhookOrderEventSink(RestTemplateBuilder restTemplateBuilder,
+                                 @Value("${order-events.webhook.url}") String webhookUrl,
+                                 @Value("${order-events.webhook.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                 @Value("${order-events.webhook.read-timeout-ms:5000}") long readTimeoutMs) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+        this.webhookUrl = webhookUrl;
+    }
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public void publish(List<OrderEventDto> events) {
+        // Any non-2xx response raises and keeps the batch in the outbox
+        restTemplate.postForEntity(webhookUrl, events, Void.class);
+    }
+}
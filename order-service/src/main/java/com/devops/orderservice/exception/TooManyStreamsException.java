@@ -0,0 +1,15 @@
+package com.devops.orderservice.exception;
+
+public class TooManyStreamsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyStreamsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
\ No newline at end of file
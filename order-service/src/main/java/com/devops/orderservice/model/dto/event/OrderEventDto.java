@@ -0,0 +1,24 @@
+package com.devops.orderservice.model.dto.event;
+
+import com.devops.orderservice.model.enums.OrderEventType;
+import com.devops.orderservice.model.enums.OrderStatus;
+import com.devops.orderservice.model.enums.PaymentStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class OrderEventDto {
+    private Long eventId;
+    private OrderEventType eventType;
+    private Long orderId;
+    private String orderNumber;
+    private Long userId;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private PaymentStatus paymentStatus;
+    private PaymentStatus previousPaymentStatus;
+    private BigDecimal totalAmount;
+    private LocalDateTime occurredAt;
+}
@@ -7,7 +7,7 @@ import lombok.Data;
 @Data
 public class OrderRequestDto {
 
-    @NotNull(message = "Shipping address ID is required")
+    // Optional: the user's default address is used when omitted
     private Long shippingAddressId;
 
     @NotNull(message = "Payment method is required")
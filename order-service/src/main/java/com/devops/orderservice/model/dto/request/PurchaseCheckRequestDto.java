@@ -0,0 +1,18 @@
+package com.devops.orderservice.model.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseCheckRequestDto {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+}
@@ -3,6 +3,8 @@ package com.devops.orderservice.model.dto.response;
 import com.devops.orderservice.model.enums.OrderStatus;
 import com.devops.orderservice.model.enums.PaymentMethod;
 import com.devops.orderservice.model.enums.PaymentStatus;
+import com.devops.serviceclient.dto.AddressResponseDto;
+import com.devops.serviceclient.dto.UserResponseDto;
 import lombok.Data;
 
 import java.math.BigDecimal;
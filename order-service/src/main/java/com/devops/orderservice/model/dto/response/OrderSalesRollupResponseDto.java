@@ -0,0 +1,23 @@
+package com.devops.orderservice.model.dto.response;
+
+import com.devops.orderservice.model.enums.OrderStatus;
+import com.devops.orderservice.model.enums.PaymentMethod;
+import com.devops.orderservice.model.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSalesRollupResponseDto {
+    private LocalDateTime bucketStart;
+    private OrderStatus status;
+    private PaymentMethod paymentMethod;
+    private PaymentStatus paymentStatus;
+    private Long orderCount;
+    private BigDecimal revenue;
+}
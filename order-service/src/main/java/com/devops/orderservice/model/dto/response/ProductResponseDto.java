@@ -1,13 +0,0 @@
-package com.devops.orderservice.model.dto.response;
-
-import lombok.Data;
-import java.math.BigDecimal;
-
-@Data
-public class ProductResponseDto {
-    private Long id;
-    private String name;
-    private String description;
-    private BigDecimal price;
-    private Integer stockQuantity;
-}
\ No newline at end of file
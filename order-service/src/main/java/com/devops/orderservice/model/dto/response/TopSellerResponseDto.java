@@ -0,0 +1,18 @@
+package com.devops.orderservice.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSellerResponseDto {
+    private Integer rank;
+    private Long productId;
+    private Long categoryId;
+    private Long quantitySold;
+    private BigDecimal revenue;
+}
@@ -1,12 +0,0 @@
-package com.devops.orderservice.model.dto.response;
-
-import lombok.Data;
-
-@Data
-public class UserResponseDto {
-    private Long id;
-    private String username;
-    private String email;
-    private String firstName;
-    private String lastName;
-}
\ No newline at end of file
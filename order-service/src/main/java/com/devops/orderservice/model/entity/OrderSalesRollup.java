@@ -0,0 +1,47 @@
+package com.devops.orderservice.model.entity;
+
+import com.devops.orderservice.model.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_sales_rollup")
+@IdClass(OrderSalesRollupId.class)
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class OrderSalesRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // Dimensions are stored as text so a missing payment method or status can be kept as UNSPECIFIED in the key
+    @Id
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Id
+    @Column(name = "payment_method", nullable = false, length = 50)
+    private String paymentMethod;
+
+    @Id
+    @Column(name = "payment_status", nullable = false, length = 20)
+    private String paymentStatus;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false, precision = 16, scale = 2)
+    private BigDecimal revenue;
+}
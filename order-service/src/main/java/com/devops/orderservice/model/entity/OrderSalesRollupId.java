@@ -0,0 +1,20 @@
+package com.devops.orderservice.model.entity;
+
+import com.devops.orderservice.model.enums.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSalesRollupId implements Serializable {
+    private RollupGranularity granularity;
+    private LocalDateTime bucketStart;
+    private String status;
+    private String paymentMethod;
+    private String paymentStatus;
+}
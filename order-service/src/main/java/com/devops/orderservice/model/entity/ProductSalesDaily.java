@@ -0,0 +1,35 @@
+package com.devops.orderservice.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "product_sales_daily")
+@IdClass(ProductSalesDailyId.class)
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class ProductSalesDaily {
+
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Id
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "quantity_sold", nullable = false)
+    private Long quantitySold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
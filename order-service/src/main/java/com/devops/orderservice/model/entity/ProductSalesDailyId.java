@@ -0,0 +1,16 @@
+package com.devops.orderservice.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesDailyId implements Serializable {
+    private Long productId;
+    private LocalDate salesDate;
+}
@@ -0,0 +1,8 @@
+package com.devops.orderservice.model.enums;
+
+public enum LeaderboardWindow {
+    DAY,
+    WEEK,
+    MONTH,
+    ALL_TIME
+}
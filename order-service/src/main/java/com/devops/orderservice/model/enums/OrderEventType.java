@@ -0,0 +1,8 @@
+package com.devops.orderservice.model.enums;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED,
+    PAYMENT_STATUS_CHANGED,
+    ORDER_CANCELLED
+}
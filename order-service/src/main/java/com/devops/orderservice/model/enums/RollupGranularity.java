@@ -0,0 +1,30 @@
+package com.devops.orderservice.model.enums;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    HOUR(ChronoUnit.HOURS, "hour"),
+    DAY(ChronoUnit.DAYS, "day");
+
+    private final ChronoUnit unit;
+    private final String sqlUnit;
+
+    RollupGranularity(ChronoUnit unit, String sqlUnit) {
+        this.unit = unit;
+        this.sqlUnit = sqlUnit;
+    }
+
+    public LocalDateTime truncate(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(unit);
+    }
+
+    public long bucketsBetween(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(truncate(from), to).toSeconds() / unit.getDuration().toSeconds() + 1;
+    }
+
+    public String getSqlUnit() {
+        return sqlUnit;
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -22,6 +24,18 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByProductIdAndUserId(@Param("productId") Long productId,
                                              @Param("userId") Long userId);
 
+    // Batch form of findByProductIdAndUserId: one query for every (user, product) pair of a verification batch,
+    // the caller intersects the result with the pairs it actually asked about
+    @Query("SELECT DISTINCT oi.order.userId, oi.productId FROM OrderItem oi " +
+            "WHERE oi.order.userId IN :userIds AND oi.productId IN :productIds " +
+            "AND oi.order.status <> com.devops.orderservice.model.enums.OrderStatus.CANCELLED " +
+            "AND oi.order.paymentStatus = com.devops.orderservice.model.enums.PaymentStatus.PAID")
+    List<Object[]> findPaidPurchases(@Param("userIds") Collection<Long> userIds,
+                                     @Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT COALESCE(SUM(oi.totalPrice), 0) FROM OrderItem oi WHERE oi.order.id = :orderId")
+    BigDecimal sumTotalPriceByOrderId(@Param("orderId") Long orderId);
+
     @Query("SELECT SUM(oi.quantity) FROM OrderItem oi WHERE oi.productId = :productId")
     Long getTotalQuantitySoldForProduct(@Param("productId") Long productId);
 }
\ No newline at end of file
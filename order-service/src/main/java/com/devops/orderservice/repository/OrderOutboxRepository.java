@@ -0,0 +1,28 @@
+package com.devops.orderservice.repository;
+
+import com.devops.orderservice.model.entity.OrderOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    // SKIP LOCKED lets several order-service instances drain the outbox without blocking each other
+    @Query(value = "SELECT * FROM order_outbox WHERE published_at IS NULL AND parked_at IS NULL " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OrderOutboxEvent> lockNextUnpublishedBatch(@Param("limit") int limit);
+
+    List<OrderOutboxEvent> findByUserIdAndIdGreaterThanAndParkedAtIsNullOrderByIdAsc(Long userId, Long id, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderOutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
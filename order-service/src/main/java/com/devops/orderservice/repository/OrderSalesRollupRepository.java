@@ -0,0 +1,48 @@
+package com.devops.orderservice.repository;
+
+import com.devops.orderservice.model.entity.OrderSalesRollup;
+import com.devops.orderservice.model.entity.OrderSalesRollupId;
+import com.devops.orderservice.model.enums.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderSalesRollupRepository extends JpaRepository<OrderSalesRollup, OrderSalesRollupId>,
+        OrderSalesRollupRepositoryCustom {
+
+    @Query("SELECT r FROM OrderSalesRollup r WHERE r.granularity = :granularity " +
+            "AND r.bucketStart >= :from AND r.bucketStart <= :to " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "AND (:paymentMethod IS NULL OR r.paymentMethod = :paymentMethod) " +
+            "AND (:paymentStatus IS NULL OR r.paymentStatus = :paymentStatus) " +
+            "ORDER BY r.bucketStart")
+    List<OrderSalesRollup> findBuckets(@Param("granularity") RollupGranularity granularity,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("status") String status,
+                                       @Param("paymentMethod") String paymentMethod,
+                                       @Param("paymentStatus") String paymentStatus);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_sales_rollup", nativeQuery = true)
+    void deleteAllBuckets();
+
+    // Revenue comes from the line items, which are the source of truth for what an order is worth
+    @Modifying
+    @Query(value = "INSERT INTO order_sales_rollup " +
+            "(granularity, bucket_start, status, payment_method, payment_status, order_count, revenue) " +
+            "SELECT CAST(:granularity AS VARCHAR), date_trunc(CAST(:unit AS VARCHAR), o.created_at), o.status, " +
+            "COALESCE(o.payment_method, 'UNSPECIFIED'), COALESCE(o.payment_status, 'UNSPECIFIED'), " +
+            "COUNT(*), COALESCE(SUM(i.item_total), 0) " +
+            "FROM customer_order o " +
+            "LEFT JOIN (SELECT order_id, SUM(total_price) AS item_total FROM order_item GROUP BY order_id) i " +
+            "ON i.order_id = o.id " +
+            "GROUP BY 1, 2, 3, 4, 5", nativeQuery = true)
+    int rebuildFromOrders(@Param("granularity") String granularity, @Param("unit") String unit);
+}
@@ -0,0 +1,16 @@
+package com.devops.orderservice.repository;
+
+import com.devops.orderservice.model.enums.RollupGranularity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSalesRollupRepositoryCustom {
+
+    void addToBuckets(List<RollupDelta> deltas);
+
+    record RollupDelta(RollupGranularity granularity, LocalDateTime bucketStart, String status,
+                       String paymentMethod, String paymentStatus, long orderCount, BigDecimal revenue) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.devops.orderservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OrderSalesRollupRepositoryImpl implements OrderSalesRollupRepositoryCustom {
+
+    private static final String UPSERT_BUCKET = """
+            INSERT INTO order_sales_rollup (granularity, bucket_start, status, payment_method, payment_status, order_count, revenue)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (granularity, bucket_start, status, payment_method, payment_status) DO UPDATE SET
+                order_count = order_sales_rollup.order_count + EXCLUDED.order_count,
+                revenue = order_sales_rollup.revenue + EXCLUDED.revenue
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addToBuckets(List<RollupDelta> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT_BUCKET, deltas.stream()
+                .map(delta -> new Object[]{
+                        delta.granularity().name(),
+                        Timestamp.valueOf(delta.bucketStart()),
+                        delta.status(),
+                        delta.paymentMethod(),
+                        delta.paymentStatus(),
+                        delta.orderCount(),
+                        delta.revenue()
+                })
+                .toList());
+    }
+}
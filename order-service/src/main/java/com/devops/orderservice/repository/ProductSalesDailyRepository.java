@@ -0,0 +1,39 @@
+package com.devops.orderservice.repository;
+
+import com.devops.orderservice.model.entity.ProductSalesDaily;
+import com.devops.orderservice.model.entity.ProductSalesDailyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProductSalesDailyRepository extends JpaRepository<ProductSalesDaily, ProductSalesDailyId>,
+        ProductSalesDailyRepositoryCustom {
+
+    List<ProductSalesDaily> findBySalesDateGreaterThanEqual(LocalDate salesDate);
+
+    @Query("SELECT s.productId, MAX(s.categoryId), SUM(s.quantitySold), SUM(s.revenue) " +
+            "FROM ProductSalesDaily s GROUP BY s.productId")
+    List<Object[]> sumSalesByProduct();
+
+    @Modifying
+    @Query(value = "DELETE FROM product_sales_daily", nativeQuery = true)
+    void deleteAllSales();
+
+    @Modifying
+    @Query(value = "INSERT INTO product_sales_daily (product_id, sales_date, category_id, quantity_sold, revenue) " +
+            "SELECT oi.product_id, CAST(o.created_at AS DATE), NULL, SUM(oi.quantity), SUM(oi.total_price) " +
+            "FROM order_item oi JOIN customer_order o ON o.id = oi.order_id " +
+            "WHERE o.status <> 'CANCELLED' " +
+            "GROUP BY oi.product_id, CAST(o.created_at AS DATE)", nativeQuery = true)
+    int rebuildFromOrderItems();
+
+    @Modifying
+    @Query("UPDATE ProductSalesDaily s SET s.categoryId = :categoryId WHERE s.productId = :productId")
+    int updateCategory(@Param("productId") Long productId, @Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,13 @@
+package com.devops.orderservice.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProductSalesDailyRepositoryCustom {
+
+    void addSales(List<SalesDelta> deltas);
+
+    record SalesDelta(Long productId, LocalDate salesDate, Long categoryId, long quantity, BigDecimal revenue) {
+    }
+}
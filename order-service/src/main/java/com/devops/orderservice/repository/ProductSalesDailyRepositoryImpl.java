@@ -0,0 +1,37 @@
+package com.devops.orderservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductSalesDailyRepositoryImpl implements ProductSalesDailyRepositoryCustom {
+
+    private static final String UPSERT_SALES = """
+            INSERT INTO product_sales_daily (product_id, sales_date, category_id, quantity_sold, revenue)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (product_id, sales_date) DO UPDATE SET
+                quantity_sold = product_sales_daily.quantity_sold + EXCLUDED.quantity_sold,
+                revenue = product_sales_daily.revenue + EXCLUDED.revenue,
+                category_id = COALESCE(EXCLUDED.category_id, product_sales_daily.category_id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addSales(List<SalesDelta> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT_SALES, deltas.stream()
+                .map(delta -> new Object[]{
+                        delta.productId(),
+                        Date.valueOf(delta.salesDate()),
+                        new SqlParameterValue(Types.BIGINT, delta.categoryId()),
+                        delta.quantity(),
+                        delta.revenue()
+                })
+                .toList());
+    }
+}
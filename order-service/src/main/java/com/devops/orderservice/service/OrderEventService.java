@@ -0,0 +1,68 @@
+package com.devops.orderservice.service;
+
+import com.devops.orderservice.model.dto.event.OrderEventDto;
+import com.devops.orderservice.model.entity.Order;
+import com.devops.orderservice.model.entity.OrderOutboxEvent;
+import com.devops.orderservice.model.enums.OrderEventType;
+import com.devops.orderservice.model.enums.OrderStatus;
+import com.devops.orderservice.model.enums.PaymentStatus;
+import com.devops.orderservice.repository.OrderOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class OrderEventService {
+
+    private final OrderOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    // MANDATORY: the event must commit or roll back together with the order change it describes
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEvent(Order order, OrderEventType eventType,
+                            OrderStatus previousStatus, PaymentStatus previousPaymentStatus) {
+        OrderEventDto event = new OrderEventDto();
+        event.setEventType(eventType);
+        event.setOrderId(order.getId());
+        event.setOrderNumber(order.getOrderNumber());
+        event.setUserId(order.getUserId());
+        event.setStatus(order.getStatus());
+        event.setPreviousStatus(previousStatus);
+        event.setPaymentStatus(order.getPaymentStatus());
+        event.setPreviousPaymentStatus(previousPaymentStatus);
+        event.setTotalAmount(order.getTotalAmount());
+        event.setOccurredAt(LocalDateTime.now());
+
+        OrderOutboxEvent outboxEvent = new OrderOutboxEvent();
+        outboxEvent.setOrderId(order.getId());
+        outboxEvent.setUserId(order.getUserId());
+        outboxEvent.setEventType(eventType);
+        outboxEvent.setPayload(toJson(event));
+
+        outboxRepository.save(outboxEvent);
+    }
+
+    public OrderEventDto toEvent(OrderOutboxEvent outboxEvent) {
+        try {
+            OrderEventDto event = objectMapper.readValue(outboxEvent.getPayload(), OrderEventDto.class);
+            event.setEventId(outboxEvent.getId());
+            return event;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload for event " + outboxEvent.getId(), e);
+        }
+    }
+
+    private String toJson(OrderEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order event", e);
+        }
+    }
+}
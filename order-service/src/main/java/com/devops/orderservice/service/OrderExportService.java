@@ -0,0 +1,264 @@
+package com.devops.orderservice.service;
+
+import com.devops.orderservice.model.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+public class OrderExportService {
+
+    // Rows come out grouped by order so each order can be written as soon as its last item is read
+    private static final String EXPORT_QUERY = """
+            SELECT o.id, o.order_number, o.user_id, o.status, o.payment_method, o.payment_status, o.total_amount,
+                   o.shipping_address_id, o.notes, o.created_at, o.updated_at,
+                   oi.id AS item_id, oi.product_id, oi.quantity, oi.unit_price, oi.total_price
+            FROM customer_order o
+            LEFT JOIN order_item oi ON oi.order_id = o.id
+            WHERE o.created_at >= ? AND o.created_at < ?
+            ORDER BY o.created_at, o.id, oi.id
+            """;
+
+    private static final String CSV_HEADER = "order_id,order_number,user_id,status,payment_method,payment_status," +
+            "total_amount,shipping_address_id,notes,created_at,updated_at," +
+            "item_id,product_id,quantity,unit_price,item_total_price";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate exportJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${order-export.fetch-size:1000}") int fetchSize) {
+        // The PostgreSQL driver only streams through a server-side cursor when a fetch size is set
+        // and auto-commit is off, hence the dedicated template and the read-only transaction
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public long exportOrders(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream outputStream) throws IOException {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        ExportWriter exportWriter = format == ExportFormat.CSV ? new CsvExportWriter(writer) : new NdjsonExportWriter(writer);
+
+        try {
+            exportWriter.start();
+            readOnlyTransaction.executeWithoutResult(status ->
+                    exportJdbcTemplate.query(EXPORT_QUERY, exportWriter, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+            exportWriter.finish();
+        } catch (UncheckedIOException e) {
+            // The client went away; the query has already been abandoned by the time we get here
+            throw e.getCause();
+        }
+        writer.flush();
+
+        log.info("Exported {} orders created between {} and {} as {}", exportWriter.orderCount, from, to, format);
+        return exportWriter.orderCount;
+    }
+
+    private abstract static class ExportWriter implements RowCallbackHandler {
+        protected final Writer writer;
+        private long currentOrderId = -1;
+        private long orderCount;
+
+        protected ExportWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long orderId = rs.getLong("id");
+                if (orderId != currentOrderId) {
+                    if (currentOrderId != -1) {
+                        endOrder();
+                    }
+                    currentOrderId = orderId;
+                    orderCount++;
+                    startOrder(rs);
+                }
+                writeItem(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        protected void start() throws IOException {
+        }
+
+        protected void finish() throws IOException {
+            if (currentOrderId != -1) {
+                endOrder();
+            }
+        }
+
+        protected abstract void startOrder(ResultSet rs) throws SQLException, IOException;
+
+        protected abstract void writeItem(ResultSet rs) throws SQLException, IOException;
+
+        protected abstract void endOrder() throws IOException;
+    }
+
+    private static final class CsvExportWriter extends ExportWriter {
+        private static final int TOTAL_COLUMNS = 16;
+
+        private CsvExportWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        protected void start() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        protected void startOrder(ResultSet rs) {
+        }
+
+        @Override
+        protected void writeItem(ResultSet rs) throws SQLException, IOException {
+            // One line per item, with the order columns repeated; an order without items gets empty item columns
+            for (int column = 1; column <= TOTAL_COLUMNS; column++) {
+                if (column > 1) {
+                    writer.write(',');
+                }
+                writeField(isTimestamp(column) ? isoTimestamp(rs, column) : rs.getString(column));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        protected void endOrder() {
+        }
+
+        private boolean isTimestamp(int column) {
+            return column == 10 || column == 11;
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonExportWriter extends ExportWriter {
+        private JsonGenerator generator;
+
+        private NdjsonExportWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        protected void start() throws IOException {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void startOrder(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("orderId", rs.getLong("id"));
+            generator.writeStringField("orderNumber", rs.getString("order_number"));
+            generator.writeNumberField("userId", rs.getLong("user_id"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("paymentMethod", rs.getString("payment_method"));
+            generator.writeStringField("paymentStatus", rs.getString("payment_status"));
+            writeDecimal("totalAmount", rs.getBigDecimal("total_amount"));
+            writeLong("shippingAddressId", rs, "shipping_address_id");
+            generator.writeStringField("notes", rs.getString("notes"));
+            generator.writeStringField("createdAt", isoTimestamp(rs, 10));
+            generator.writeStringField("updatedAt", isoTimestamp(rs, 11));
+            generator.writeArrayFieldStart("items");
+        }
+
+        @Override
+        protected void writeItem(ResultSet rs) throws SQLException, IOException {
+            long itemId = rs.getLong("item_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            generator.writeStartObject();
+            generator.writeNumberField("id", itemId);
+            generator.writeNumberField("productId", rs.getLong("product_id"));
+            generator.writeNumberField("quantity", rs.getInt("quantity"));
+            writeDecimal("unitPrice", rs.getBigDecimal("unit_price"));
+            writeDecimal("totalPrice", rs.getBigDecimal("total_price"));
+            generator.writeEndObject();
+        }
+
+        @Override
+        protected void endOrder() throws IOException {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            super.finish();
+            generator.flush();
+        }
+
+        private void writeDecimal(String field, BigDecimal value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeNumberField(field, value);
+            }
+        }
+
+        private void writeLong(String field, ResultSet rs, String column) throws SQLException, IOException {
+            long value = rs.getLong(column);
+            if (rs.wasNull()) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeNumberField(field, value);
+            }
+        }
+    }
+
+    private static String isoTimestamp(ResultSet rs, int column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+    }
+}
@@ -1,20 +1,23 @@
 package com.devops.orderservice.service;
 
-import com.devops.orderservice.client.ExternalServiceClient;
 import com.devops.orderservice.exception.ResourceNotFoundException;
 import com.devops.orderservice.model.dto.response.OrderItemResponseDto;
-import com.devops.orderservice.model.dto.response.ProductResponseDto;
 import com.devops.orderservice.model.entity.Order;
 import com.devops.orderservice.model.entity.OrderItem;
 import com.devops.orderservice.repository.OrderItemRepository;
 import com.devops.orderservice.repository.OrderRepository;
+import com.devops.serviceclient.client.ProductClient;
+import com.devops.serviceclient.dto.ProductResponseDto;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -23,13 +26,24 @@ public class OrderItemService {
 
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
-    private final ExternalServiceClient externalServiceClient;
+    private final ProductClient productClient;
+    private final TopSellerService topSellerService;
+    private final OrderService orderService;
     private final ModelMapper modelMapper;
 
     @Transactional(readOnly = true)
     public List<OrderItemResponseDto> getOrderItems(Long orderId) {
-        return orderItemRepository.findByOrderId(orderId).stream()
-                .map(this::mapToResponseDto)
+        // One batch call for every product on the order instead of one call per line item
+        List<OrderItem> items = orderItemRepository.findByOrderId(orderId);
+        Map<Long, ProductResponseDto> products = new HashMap<>();
+        try {
+            products.putAll(productClient.getProducts(items.stream().map(OrderItem::getProductId).toList()));
+        } catch (Exception e) {
+            // Handle gracefully - items are still listed without product details
+        }
+
+        return items.stream()
+                .map(item -> mapToResponseDto(item, products.get(item.getProductId())))
                 .toList();
     }
 
@@ -41,37 +55,44 @@ public class OrderItemService {
         return orderItemRepository.findByOrderId(orderId).stream()
                 .filter(item -> item.getProductId().equals(productId))
                 .findFirst()
-                .map(existingItem -> updateOrderItemQuantity(existingItem, quantity))
-                .orElseGet(() -> createNewOrderItem(order, productId, quantity, product.getPrice()));
+                .map(existingItem -> updateOrderItemQuantity(existingItem, quantity, categoryOf(product)))
+                .orElseGet(() -> createNewOrderItem(order, product, quantity));
     }
 
     public OrderItemResponseDto updateOrderItemQuantity(Long orderItemId, Integer quantity) {
         OrderItem orderItem = findOrderItemById(orderItemId);
-        return updateOrderItemQuantity(orderItem, quantity);
+        return updateOrderItemQuantity(orderItem, quantity, null);
     }
 
     public void removeItemFromOrder(Long orderItemId) {
         OrderItem orderItem = findOrderItemById(orderItemId);
         orderItemRepository.delete(orderItem);
+        topSellerService.recordItemRemoved(orderItem);
+        orderService.recalculateOrderTotal(orderItem.getOrder().getId());
     }
 
-    private OrderItemResponseDto createNewOrderItem(Order order, Long productId, Integer quantity, BigDecimal unitPrice) {
+    private OrderItemResponseDto createNewOrderItem(Order order, ProductResponseDto product, Integer quantity) {
         OrderItem orderItem = new OrderItem();
         orderItem.setOrder(order);
-        orderItem.setProductId(productId);
+        orderItem.setProductId(product.getId());
         orderItem.setQuantity(quantity);
-        orderItem.setUnitPrice(unitPrice);
-        orderItem.setTotalPrice(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+        orderItem.setUnitPrice(product.getPrice());
+        orderItem.setTotalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
 
         OrderItem savedOrderItem = orderItemRepository.save(orderItem);
+        topSellerService.recordSale(order, product.getId(), categoryOf(product), quantity, savedOrderItem.getTotalPrice());
+        orderService.recalculateOrderTotal(order.getId());
         return mapToResponseDto(savedOrderItem);
     }
 
-    private OrderItemResponseDto updateOrderItemQuantity(OrderItem orderItem, Integer additionalQuantity) {
+    private OrderItemResponseDto updateOrderItemQuantity(OrderItem orderItem, Integer additionalQuantity, Long categoryId) {
         orderItem.setQuantity(orderItem.getQuantity() + additionalQuantity);
         orderItem.setTotalPrice(orderItem.getUnitPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity())));
 
         OrderItem updatedOrderItem = orderItemRepository.save(orderItem);
+        topSellerService.recordSale(orderItem.getOrder(), orderItem.getProductId(), categoryId, additionalQuantity,
+                orderItem.getUnitPrice().multiply(BigDecimal.valueOf(additionalQuantity)));
+        orderService.recalculateOrderTotal(orderItem.getOrder().getId());
         return mapToResponseDto(updatedOrderItem);
     }
 
@@ -87,18 +108,28 @@ public class OrderItemService {
 
     private ProductResponseDto validateProductExists(Long productId) {
         try {
-            return externalServiceClient.getProduct(productId);
-        } catch (Exception e) {
+            return productClient.getProduct(productId);
+        } catch (HttpClientErrorException.NotFound e) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
     }
 
+    private Long categoryOf(ProductResponseDto product) {
+        return product.getCategory() != null ? product.getCategory().getId() : null;
+    }
+
+    private OrderItemResponseDto mapToResponseDto(OrderItem orderItem, ProductResponseDto product) {
+        OrderItemResponseDto dto = modelMapper.map(orderItem, OrderItemResponseDto.class);
+        dto.setProduct(product);
+        return dto;
+    }
+
     private OrderItemResponseDto mapToResponseDto(OrderItem orderItem) {
         OrderItemResponseDto dto = modelMapper.map(orderItem, OrderItemResponseDto.class);
 
         // Get product details
         try {
-            ProductResponseDto product = externalServiceClient.getProduct(orderItem.getProductId());
+            ProductResponseDto product = productClient.getProduct(orderItem.getProductId());
             dto.setProduct(product);
         } catch (Exception e) {
             // Handle gracefully - product might be deleted
@@ -0,0 +1,235 @@
+package com.devops.orderservice.service;
+
+import com.devops.orderservice.model.dto.response.OrderSalesRollupResponseDto;
+import com.devops.orderservice.model.entity.Order;
+import com.devops.orderservice.model.entity.OrderSalesRollup;
+import com.devops.orderservice.model.enums.OrderStatus;
+import com.devops.orderservice.model.enums.PaymentMethod;
+import com.devops.orderservice.model.enums.PaymentStatus;
+import com.devops.orderservice.model.enums.RollupGranularity;
+import com.devops.orderservice.repository.OrderSalesRollupRepository;
+import com.devops.orderservice.repository.OrderSalesRollupRepositoryCustom.RollupDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSalesRollupService {
+
+    private static final String UNSPECIFIED = "UNSPECIFIED";
+
+    private final OrderSalesRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Deltas are coalesced per bucket between flushes so the current hour's rows are not a write hotspot
+    private final ReadWriteLock pendingLock = new ReentrantReadWriteLock();
+    private Map<BucketKey, BucketCounter> pendingDeltas = new ConcurrentHashMap<>();
+    // Spans a whole flush, swap to upsert; a rebuild taking it too cannot land between the two
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Value("${order-rollups.max-buckets:1000}")
+    private long maxBuckets;
+
+    @Transactional(readOnly = true)
+    public List<OrderSalesRollupResponseDto> getRollups(RollupGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                                        OrderStatus status, PaymentMethod paymentMethod,
+                                                        PaymentStatus paymentStatus, boolean breakdown) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (granularity.bucketsBetween(from, to) > maxBuckets) {
+            throw new IllegalArgumentException("Range spans more than " + maxBuckets + " " + granularity + " buckets");
+        }
+
+        List<OrderSalesRollup> buckets = rollupRepository.findBuckets(granularity, granularity.truncate(from), to,
+                status != null ? status.name() : null,
+                paymentMethod != null ? paymentMethod.name() : null,
+                paymentStatus != null ? paymentStatus.name() : null);
+
+        if (breakdown) {
+            return buckets.stream()
+                    .map(bucket -> new OrderSalesRollupResponseDto(bucket.getBucketStart(),
+                            toEnum(OrderStatus.class, bucket.getStatus()),
+                            toEnum(PaymentMethod.class, bucket.getPaymentMethod()),
+                            toEnum(PaymentStatus.class, bucket.getPaymentStatus()),
+                            bucket.getOrderCount(), bucket.getRevenue()))
+                    .toList();
+        }
+
+        // Rows arrive ordered by bucket, so folding the dimensions keeps the time order
+        Map<LocalDateTime, OrderSalesRollupResponseDto> totals = new LinkedHashMap<>();
+        for (OrderSalesRollup bucket : buckets) {
+            OrderSalesRollupResponseDto total = totals.computeIfAbsent(bucket.getBucketStart(), start ->
+                    new OrderSalesRollupResponseDto(start, status, paymentMethod, paymentStatus, 0L, BigDecimal.ZERO));
+            total.setOrderCount(total.getOrderCount() + bucket.getOrderCount());
+            total.setRevenue(total.getRevenue().add(bucket.getRevenue()));
+        }
+        return new ArrayList<>(totals.values());
+    }
+
+    public void recordOrderChange(OrderSnapshot before, Order after) {
+        OrderSnapshot current = OrderSnapshot.of(after);
+        if (current.equals(before)) {
+            return;
+        }
+
+        List<Runnable> changes = new ArrayList<>(2);
+        if (before != null) {
+            changes.add(() -> addPending(before, -1, toCents(before.totalAmount()).negate()));
+        }
+        changes.add(() -> addPending(current, 1, toCents(current.totalAmount())));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changes.forEach(Runnable::run);
+                }
+            });
+        } else {
+            changes.forEach(Runnable::run);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order-rollups.flush-interval-ms:10000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            persistPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void persistPending() {
+        Map<BucketKey, BucketCounter> toPersist;
+        pendingLock.writeLock().lock();
+        try {
+            toPersist = pendingDeltas;
+            pendingDeltas = new ConcurrentHashMap<>();
+        } finally {
+            pendingLock.writeLock().unlock();
+        }
+
+        if (toPersist.isEmpty()) {
+            return;
+        }
+
+        List<RollupDelta> deltas = new ArrayList<>(toPersist.size());
+        toPersist.forEach((key, counter) -> {
+            long orderCount = counter.orderCount.sum();
+            long revenueCents = counter.revenueCents.sum();
+            if (orderCount != 0 || revenueCents != 0) {
+                deltas.add(new RollupDelta(key.granularity(), key.bucketStart(), key.status(), key.paymentMethod(),
+                        key.paymentStatus(), orderCount, BigDecimal.valueOf(revenueCents, 2)));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> rollupRepository.addToBuckets(deltas));
+        } catch (Exception e) {
+            log.warn("Could not persist {} order rollup deltas, keeping them for the next flush: {}",
+                    deltas.size(), e.getMessage());
+            toPersist.forEach((key, counter) -> addPending(key, counter.orderCount.sum(), counter.revenueCents.sum()));
+        }
+    }
+
+    public int rebuildFromHistory() {
+        // The flush lock waits out a flush in progress; the write lock keeps recorders out while the buckets are
+        // recomputed from customer_order
+        flushLock.lock();
+        pendingLock.writeLock().lock();
+        try {
+            pendingDeltas = new ConcurrentHashMap<>();
+            Integer rows = transactionTemplate.execute(status -> {
+                rollupRepository.deleteAllBuckets();
+                int inserted = 0;
+                for (RollupGranularity granularity : RollupGranularity.values()) {
+                    inserted += rollupRepository.rebuildFromOrders(granularity.name(), granularity.getSqlUnit());
+                }
+                return inserted;
+            });
+            return rows != null ? rows : 0;
+        } finally {
+            pendingLock.writeLock().unlock();
+            flushLock.unlock();
+        }
+    }
+
+    private void addPending(OrderSnapshot order, long orderCount, BigDecimal revenueCents) {
+        LocalDateTime createdAt = order.createdAt() != null ? order.createdAt() : LocalDateTime.now();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            BucketKey key = new BucketKey(granularity, granularity.truncate(createdAt),
+                    dimension(order.status()), dimension(order.paymentMethod()), dimension(order.paymentStatus()));
+            addPending(key, orderCount, revenueCents.longValueExact());
+        }
+    }
+
+    private void addPending(BucketKey key, long orderCount, long revenueCents) {
+        pendingLock.readLock().lock();
+        try {
+            pendingDeltas.computeIfAbsent(key, k -> new BucketCounter()).add(orderCount, revenueCents);
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    private static String dimension(Enum<?> value) {
+        return value != null ? value.name() : UNSPECIFIED;
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String value) {
+        return UNSPECIFIED.equals(value) ? null : Enum.valueOf(type, value);
+    }
+
+    private static BigDecimal toCents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2) : BigDecimal.ZERO;
+    }
+
+    public record OrderSnapshot(LocalDateTime createdAt, OrderStatus status, PaymentMethod paymentMethod,
+                                PaymentStatus paymentStatus, BigDecimal totalAmount) {
+
+        public static OrderSnapshot of(Order order) {
+            return new OrderSnapshot(order.getCreatedAt(), order.getStatus(), order.getPaymentMethod(),
+                    order.getPaymentStatus(), order.getTotalAmount());
+        }
+    }
+
+    private record BucketKey(RollupGranularity granularity, LocalDateTime bucketStart, String status,
+                             String paymentMethod, String paymentStatus) {
+    }
+
+    private static final class BucketCounter {
+        private final LongAdder orderCount = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+
+        private void add(long orderCountDelta, long revenueCentsDelta) {
+            orderCount.add(orderCountDelta);
+            revenueCents.add(revenueCentsDelta);
+        }
+    }
+}
@@ -1,24 +1,31 @@
 package com.devops.orderservice.service;
 
-import com.devops.orderservice.client.ExternalServiceClient;
 import com.devops.orderservice.exception.ResourceNotFoundException;
 import com.devops.orderservice.model.dto.request.OrderRequestDto;
-import com.devops.orderservice.model.dto.response.AddressResponseDto;
 import com.devops.orderservice.model.dto.response.OrderResponseDto;
-import com.devops.orderservice.model.dto.response.UserResponseDto;
 import com.devops.orderservice.model.entity.Order;
-import com.devops.orderservice.model.entity.OrderItem;
+import com.devops.orderservice.model.enums.OrderEventType;
 import com.devops.orderservice.model.enums.OrderStatus;
 import com.devops.orderservice.model.enums.PaymentStatus;
+import com.devops.orderservice.repository.OrderItemRepository;
 import com.devops.orderservice.repository.OrderRepository;
+import com.devops.orderservice.service.OrderSalesRollupService.OrderSnapshot;
+import com.devops.serviceclient.client.UserClient;
+import com.devops.serviceclient.dto.AddressLookupKeyDto;
+import com.devops.serviceclient.dto.AddressResponseDto;
+import com.devops.serviceclient.dto.UserLookupResponseDto;
+import com.devops.serviceclient.dto.UserResponseDto;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -27,7 +34,11 @@ import java.util.UUID;
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final ExternalServiceClient externalServiceClient;
+    private final OrderItemRepository orderItemRepository;
+    private final UserClient userClient;
+    private final OrderEventService orderEventService;
+    private final TopSellerService topSellerService;
+    private final OrderSalesRollupService orderSalesRollupService;
     private final ModelMapper modelMapper;
 
     private static final String ORDER = "Order";
@@ -36,9 +47,7 @@ public class OrderService {
     public List<OrderResponseDto> getUserOrders(Long userId) {
         validateUserExists(userId);
 
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
-                .map(this::mapToResponseDto)
-                .toList();
+        return mapToResponseDtos(orderRepository.findByUserIdOrderByCreatedAtDesc(userId));
     }
 
     @Transactional(readOnly = true)
@@ -56,44 +65,59 @@ public class OrderService {
 
     @Transactional(readOnly = true)
     public List<OrderResponseDto> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByStatus(status).stream()
-                .map(this::mapToResponseDto)
-                .toList();
+        return mapToResponseDtos(orderRepository.findByStatus(status));
     }
 
     public OrderResponseDto createOrder(Long userId, OrderRequestDto requestDto) {
         // Validate external dependencies
         validateUserExists(userId);
-        validateAddressExists(userId, requestDto.getShippingAddressId());
+        Long shippingAddressId = requestDto.getShippingAddressId() != null
+                ? validateAddressExists(userId, requestDto.getShippingAddressId())
+                : findDefaultAddressId(userId);
 
         // Create order
         Order order = new Order();
         order.setUserId(userId);
         order.setOrderNumber(generateOrderNumber());
         order.setStatus(OrderStatus.PENDING);
-        order.setShippingAddressId(requestDto.getShippingAddressId());
+        order.setShippingAddressId(shippingAddressId);
         order.setPaymentMethod(requestDto.getPaymentMethod());
         order.setPaymentStatus(PaymentStatus.PENDING);
         order.setNotes(requestDto.getNotes());
         order.setTotalAmount(BigDecimal.ZERO); // Will be calculated when items are added
 
         Order savedOrder = orderRepository.save(order);
+        orderEventService.recordEvent(savedOrder, OrderEventType.ORDER_CREATED, null, null);
+        orderSalesRollupService.recordOrderChange(null, savedOrder);
         return mapToResponseDto(savedOrder);
     }
 
     public OrderResponseDto updateOrderStatus(Long userId, Long orderId, OrderStatus status) {
         Order order = findOrderByUserAndId(userId, orderId);
+        OrderSnapshot before = OrderSnapshot.of(order);
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
 
         Order updatedOrder = orderRepository.save(order);
+        if (previousStatus != status) {
+            orderEventService.recordEvent(updatedOrder, OrderEventType.ORDER_STATUS_CHANGED, previousStatus, null);
+            topSellerService.recordStatusChange(updatedOrder, previousStatus);
+            orderSalesRollupService.recordOrderChange(before, updatedOrder);
+        }
         return mapToResponseDto(updatedOrder);
     }
 
     public OrderResponseDto updatePaymentStatus(Long userId, Long orderId, PaymentStatus paymentStatus) {
         Order order = findOrderByUserAndId(userId, orderId);
+        OrderSnapshot before = OrderSnapshot.of(order);
+        PaymentStatus previousPaymentStatus = order.getPaymentStatus();
         order.setPaymentStatus(paymentStatus);
 
         Order updatedOrder = orderRepository.save(order);
+        if (previousPaymentStatus != paymentStatus) {
+            orderEventService.recordEvent(updatedOrder, OrderEventType.PAYMENT_STATUS_CHANGED, null, previousPaymentStatus);
+            orderSalesRollupService.recordOrderChange(before, updatedOrder);
+        }
         return mapToResponseDto(updatedOrder);
     }
 
@@ -104,20 +128,29 @@ public class OrderService {
             throw new IllegalArgumentException("Cannot cancel order that has been shipped or delivered");
         }
 
+        OrderSnapshot before = OrderSnapshot.of(order);
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
-        orderRepository.save(order);
+        Order cancelledOrder = orderRepository.save(order);
+        orderEventService.recordEvent(cancelledOrder, OrderEventType.ORDER_CANCELLED, previousStatus, null);
+        topSellerService.recordStatusChange(cancelledOrder, previousStatus);
+        orderSalesRollupService.recordOrderChange(before, cancelledOrder);
     }
 
     public void recalculateOrderTotal(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException(ORDER, "id", orderId));
+        OrderSnapshot before = OrderSnapshot.of(order);
 
-        BigDecimal total = order.getOrderItems().stream()
-                .map(OrderItem::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Summed in the database, which sees items added or removed earlier in this transaction once they are flushed
+        BigDecimal total = orderItemRepository.sumTotalPriceByOrderId(orderId);
+        if (total.compareTo(order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO) == 0) {
+            return;
+        }
 
         order.setTotalAmount(total);
-        orderRepository.save(order);
+        Order updatedOrder = orderRepository.save(order);
+        orderSalesRollupService.recordOrderChange(before, updatedOrder);
     }
 
     private Order findOrderByUserAndId(Long userId, Long orderId) {
@@ -125,20 +158,30 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException(ORDER, "id", orderId));
     }
 
+    // Only a 404 means the user, address or product is missing; user-service being unavailable surfaces as
+    // DependencyUnavailableException (503) rather than as a misleading 404
     private void validateUserExists(Long userId) {
-        try {
-            externalServiceClient.getUser(userId);
-        } catch (Exception e) {
+        if (!userClient.userExists(userId)) {
             throw new ResourceNotFoundException("User", "id", userId);
         }
     }
 
-    private void validateAddressExists(Long userId, Long addressId) {
+    private Long validateAddressExists(Long userId, Long addressId) {
         try {
-            externalServiceClient.getAddress(userId, addressId);
-        } catch (Exception e) {
+            userClient.getAddress(userId, addressId);
+        } catch (HttpClientErrorException.NotFound e) {
             throw new ResourceNotFoundException("Address", "id", addressId);
         }
+        return addressId;
+    }
+
+    // One cached lookup on user-service instead of listing every address to find the default
+    private Long findDefaultAddressId(Long userId) {
+        try {
+            return userClient.getDefaultAddress(userId).getId();
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new ResourceNotFoundException("Default address", "userId", userId);
+        }
     }
 
     private String generateOrderNumber() {
@@ -146,12 +189,42 @@ public class OrderService {
                 String.format("%06d", UUID.randomUUID().hashCode() & 0xFFFFFF);
     }
 
+    // List endpoints resolve every user and shipping address in one batch call rather than two calls per order
+    private List<OrderResponseDto> mapToResponseDtos(List<Order> orders) {
+        Map<Long, UserResponseDto> users = new HashMap<>();
+        Map<Long, AddressResponseDto> addresses = new HashMap<>();
+        try {
+            UserLookupResponseDto lookup = userClient.lookupUsersAndAddresses(
+                    orders.stream().map(Order::getUserId).toList(),
+                    orders.stream()
+                            .filter(order -> order.getShippingAddressId() != null)
+                            .map(order -> new AddressLookupKeyDto(order.getUserId(), order.getShippingAddressId()))
+                            .toList());
+            lookup.getUsers().forEach(user -> users.put(user.getId(), user));
+            lookup.getAddresses().forEach(address -> addresses.put(address.getId(), address));
+        } catch (Exception e) {
+            // Handle gracefully - orders are still listed without user and address details
+        }
+
+        return orders.stream()
+                .map(order -> mapToResponseDto(order, users.get(order.getUserId()),
+                        order.getShippingAddressId() != null ? addresses.get(order.getShippingAddressId()) : null))
+                .toList();
+    }
+
+    private OrderResponseDto mapToResponseDto(Order order, UserResponseDto user, AddressResponseDto address) {
+        OrderResponseDto dto = modelMapper.map(order, OrderResponseDto.class);
+        dto.setUser(user);
+        dto.setShippingAddress(address);
+        return dto;
+    }
+
     private OrderResponseDto mapToResponseDto(Order order) {
         OrderResponseDto dto = modelMapper.map(order, OrderResponseDto.class);
 
         // Get user details
         try {
-            UserResponseDto user = externalServiceClient.getUser(order.getUserId());
+            UserResponseDto user = userClient.getUser(order.getUserId());
             dto.setUser(user);
         } catch (Exception e) {
             // Handle gracefully - user might be deleted
@@ -160,7 +233,7 @@ public class OrderService {
         // Get shipping address details
         if (order.getShippingAddressId() != null) {
             try {
-                AddressResponseDto address = externalServiceClient.getAddress(order.getUserId(), order.getShippingAddressId());
+                AddressResponseDto address = userClient.getAddress(order.getUserId(), order.getShippingAddressId());
                 dto.setShippingAddress(address);
             } catch (Exception e) {
                 // Handle gracefully - address might be deleted
@@ -0,0 +1,246 @@
+package com.devops.orderservice.service;
+
+import com.devops.orderservice.exception.TooManyStreamsException;
+import com.devops.orderservice.model.dto.event.OrderEventDto;
+import com.devops.orderservice.model.entity.OrderOutboxEvent;
+import com.devops.orderservice.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+public class OrderStreamService {
+
+    // Comfortably more than one replay, so events that arrive both replayed and live are recognised
+    private static final int RECENT_EVENT_WINDOW = 1024;
+
+    private final OrderOutboxRepository outboxRepository;
+    private final OrderEventService orderEventService;
+    private final Map<Long, Set<Subscription>> subscriptionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    // One single-threaded stripe per slot keeps delivery ordered per user while a slow client only delays its stripe
+    private final ThreadPoolExecutor[] dispatchStripes;
+
+    @Value("${order-events.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${order-events.stream.reconnect-time-ms:3000}")
+    private long reconnectTimeMs;
+
+    @Value("${order-events.stream.max-replay-events:500}")
+    private int maxReplayEvents;
+
+    @Value("${order-events.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    public OrderStreamService(OrderOutboxRepository outboxRepository,
+                              OrderEventService orderEventService,
+                              MeterRegistry meterRegistry,
+                              @Value("${order-events.stream.dispatch-threads:4}") int dispatchThreads,
+                              @Value("${order-events.stream.dispatch-queue-capacity:2500}") int queueCapacityPerThread) {
+        this.outboxRepository = outboxRepository;
+        this.orderEventService = orderEventService;
+        this.dispatchStripes = new ThreadPoolExecutor[dispatchThreads];
+        for (int i = 0; i < dispatchThreads; i++) {
+            String threadName = "order-stream-" + i;
+            this.dispatchStripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacityPerThread),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        Gauge.builder("order.stream.connections", openConnections, AtomicInteger::get)
+                .description("Open order status SSE connections")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscription subscription = new Subscription(userId, emitter);
+
+        // Live events wait on the lock until the replay is done; registering first means nothing is missed
+        // in between, and the recent-id check drops events that show up in both
+        subscription.lock.lock();
+        try {
+            subscriptionsByUser.compute(userId, (id, userSubscriptions) -> {
+                Set<Subscription> subscriptions = userSubscriptions != null ? userSubscriptions : ConcurrentHashMap.newKeySet();
+                if (subscriptions.size() >= maxConnectionsPerUser) {
+                    throw new TooManyStreamsException("Too many open order streams for user " + userId,
+                            Math.max(1, TimeUnit.MILLISECONDS.toSeconds(reconnectTimeMs)));
+                }
+                subscriptions.add(subscription);
+                return subscriptions;
+            });
+            openConnections.incrementAndGet();
+
+            emitter.onCompletion(() -> unregister(subscription));
+            emitter.onTimeout(emitter::complete);
+            emitter.onError(e -> unregister(subscription));
+
+            subscription.sendConnected();
+            if (lastEventId != null) {
+                List<OrderOutboxEvent> missed = outboxRepository.findByUserIdAndIdGreaterThanAndParkedAtIsNullOrderByIdAsc(
+                        userId, lastEventId, PageRequest.of(0, maxReplayEvents));
+                missed.stream()
+                        .map(orderEventService::toEvent)
+                        .forEach(subscription::send);
+            }
+        } finally {
+            subscription.lock.unlock();
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEventDto event) {
+        Set<Subscription> userSubscriptions = subscriptionsByUser.get(event.getUserId());
+        if (userSubscriptions == null) {
+            return;
+        }
+        userSubscriptions.forEach(subscription -> dispatch(subscription, () -> subscription.send(event)));
+    }
+
+    // One task per stripe rather than per connection, so idle streams never compete with events for queue slots
+    @Scheduled(fixedRateString = "${order-events.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (int i = 0; i < dispatchStripes.length; i++) {
+            int stripe = i;
+            try {
+                dispatchStripes[stripe].execute(() -> sendHeartbeats(stripe));
+            } catch (RejectedExecutionException e) {
+                // A full stripe is busy writing events, which keeps its connections alive anyway
+                log.debug("Order stream dispatch queue {} full, skipping this heartbeat", stripe);
+            }
+        }
+    }
+
+    private void sendHeartbeats(int stripe) {
+        subscriptionsByUser.forEach((userId, userSubscriptions) -> {
+            if (stripeOf(userId) == stripe) {
+                userSubscriptions.forEach(Subscription::sendHeartbeat);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptionsByUser.values().forEach(userSubscriptions ->
+                userSubscriptions.forEach(subscription -> subscription.emitter.complete()));
+        for (ThreadPoolExecutor stripe : dispatchStripes) {
+            stripe.shutdownNow();
+        }
+    }
+
+    private void dispatch(Subscription subscription, Runnable task) {
+        ThreadPoolExecutor stripe = dispatchStripes[stripeOf(subscription.userId)];
+        try {
+            stripe.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Closing makes the client reconnect with Last-Event-ID and replay what it missed
+            log.debug("Order stream dispatch queue full, closing stream for user {}", subscription.userId);
+            subscription.emitter.complete();
+        }
+    }
+
+    private int stripeOf(Long userId) {
+        return Math.floorMod(userId.hashCode(), dispatchStripes.length);
+    }
+
+    private void unregister(Subscription subscription) {
+        subscriptionsByUser.computeIfPresent(subscription.userId, (id, userSubscriptions) -> {
+            if (userSubscriptions.remove(subscription)) {
+                openConnections.decrementAndGet();
+            }
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    private final class Subscription {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Outbox ids are taken at insert but become visible at commit, so a lower id can arrive after a higher
+        // one; duplicates are recognised by id among the recently sent events rather than by ordering
+        private final Set<Long> recentEventIds = Collections.newSetFromMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > RECENT_EVENT_WINDOW;
+            }
+        });
+
+        private Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void send(OrderEventDto event) {
+            lock.lock();
+            try {
+                // The outbox delivers at-least-once, and replayed events may also arrive live
+                if (recentEventIds.contains(event.getEventId())) {
+                    return;
+                }
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getEventId()))
+                        .name(event.getEventType().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+                recentEventIds.add(event.getEventId());
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void sendConnected() {
+            write(SseEmitter.event().reconnectTime(reconnectTimeMs).comment("connected"));
+        }
+
+        private void sendHeartbeat() {
+            write(SseEmitter.event().comment("heartbeat"));
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) {
+            lock.lock();
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void close(Exception e) {
+            unregister(this);
+            emitter.completeWithError(e);
+        }
+    }
+}
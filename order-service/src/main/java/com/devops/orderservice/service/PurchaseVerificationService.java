@@ -0,0 +1,53 @@
+package com.devops.orderservice.service;
+
+import com.devops.orderservice.model.dto.request.PurchaseCheckRequestDto;
+import com.devops.orderservice.model.dto.response.PurchaseCheckResponseDto;
+import com.devops.orderservice.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PurchaseVerificationService {
+
+    private final OrderItemRepository orderItemRepository;
+
+    @Value("${purchase-verification.max-batch-size:500}")
+    private int maxBatchSize;
+
+    public List<PurchaseCheckResponseDto> checkPurchases(List<PurchaseCheckRequestDto> checks) {
+        if (checks.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " purchase checks can be sent at once");
+        }
+        if (checks.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        checks.forEach(check -> {
+            userIds.add(check.getUserId());
+            productIds.add(check.getProductId());
+        });
+
+        Set<PurchaseKey> purchased = new HashSet<>();
+        for (Object[] row : orderItemRepository.findPaidPurchases(userIds, productIds)) {
+            purchased.add(new PurchaseKey((Long) row[0], (Long) row[1]));
+        }
+
+        return checks.stream()
+                .map(check -> new PurchaseCheckResponseDto(check.getUserId(), check.getProductId(),
+                        purchased.contains(new PurchaseKey(check.getUserId(), check.getProductId()))))
+                .toList();
+    }
+
+    private record PurchaseKey(Long userId, Long productId) {
+    }
+}
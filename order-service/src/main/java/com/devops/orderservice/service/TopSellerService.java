@@ -0,0 +1,359 @@
+package com.devops.orderservice.service;
+
+import com.devops.orderservice.model.dto.response.TopSellerResponseDto;
+import com.devops.orderservice.model.entity.Order;
+import com.devops.orderservice.model.entity.OrderItem;
+import com.devops.orderservice.model.entity.ProductSalesDaily;
+import com.devops.orderservice.model.enums.LeaderboardWindow;
+import com.devops.orderservice.model.enums.OrderStatus;
+import com.devops.orderservice.repository.ProductSalesDailyRepository;
+import com.devops.orderservice.repository.ProductSalesDailyRepositoryCustom.SalesDelta;
+import com.devops.serviceclient.client.ProductClient;
+import com.devops.serviceclient.dto.ProductResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TopSellerService {
+
+    private static final long ALL_CATEGORIES = -1L;
+    private static final int MONTH_DAYS = 30;
+
+    private final ProductSalesDailyRepository salesRepository;
+    private final ProductClient productClient;
+    private final TransactionTemplate transactionTemplate;
+
+    // Running totals used for ranking; LongAdder stripes the hot counters across cells
+    private final Map<SalesKey, SalesCounter> dailyTotals = new ConcurrentHashMap<>();
+    private final Map<Long, SalesCounter> allTimeTotals = new ConcurrentHashMap<>();
+    private final Map<Long, Long> productCategories = new ConcurrentHashMap<>();
+
+    // Deltas not yet written to product_sales_daily; the write lock is only taken to swap the map out
+    private final ReadWriteLock pendingLock = new ReentrantReadWriteLock();
+    // Held from taking the pending deltas until they are persisted, so a rebuild never counts them twice
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private Map<SalesKey, SalesCounter> pendingDeltas = new ConcurrentHashMap<>();
+
+    // Rebuilt on every flush so reads are a sublist of a precomputed ranking
+    private volatile Map<LeaderboardWindow, Map<Long, List<TopSellerResponseDto>>> rankings = Map.of();
+
+    @Value("${top-sellers.max-ranked-per-category:100}")
+    private int maxRankedPerCategory;
+
+    public List<TopSellerResponseDto> getTopSellers(Long categoryId, LeaderboardWindow window, int limit) {
+        if (limit < 1 || limit > maxRankedPerCategory) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxRankedPerCategory);
+        }
+        List<TopSellerResponseDto> ranked = rankings.getOrDefault(window, Map.of())
+                .getOrDefault(categoryId != null ? categoryId : ALL_CATEGORIES, List.of());
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    public void recordSale(Order order, Long productId, Long categoryId, int quantity, BigDecimal amount) {
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            return;
+        }
+        recordAfterCommit(productId, categoryId, order.getCreatedAt(), quantity, amount);
+    }
+
+    public void recordItemRemoved(OrderItem orderItem) {
+        if (orderItem.getOrder().getStatus() == OrderStatus.CANCELLED) {
+            return;
+        }
+        recordAfterCommit(orderItem.getProductId(), null, orderItem.getOrder().getCreatedAt(),
+                -orderItem.getQuantity(), orderItem.getTotalPrice().negate());
+    }
+
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        boolean wasCancelled = previousStatus == OrderStatus.CANCELLED;
+        boolean isCancelled = order.getStatus() == OrderStatus.CANCELLED;
+        if (wasCancelled == isCancelled || order.getOrderItems() == null) {
+            return;
+        }
+
+        int sign = isCancelled ? -1 : 1;
+        order.getOrderItems().forEach(item -> recordAfterCommit(item.getProductId(), null, order.getCreatedAt(),
+                sign * item.getQuantity(), item.getTotalPrice().multiply(BigDecimal.valueOf(sign))));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCounters() {
+        dailyTotals.clear();
+        allTimeTotals.clear();
+
+        LocalDate monthStart = LocalDate.now().minusDays(MONTH_DAYS - 1L);
+        for (ProductSalesDaily sales : salesRepository.findBySalesDateGreaterThanEqual(monthStart)) {
+            dailyTotals.computeIfAbsent(new SalesKey(sales.getProductId(), sales.getSalesDate()), key -> new SalesCounter())
+                    .add(sales.getQuantitySold(), toCents(sales.getRevenue()));
+        }
+
+        for (Object[] row : salesRepository.sumSalesByProduct()) {
+            Long productId = (Long) row[0];
+            if (row[1] != null) {
+                productCategories.put(productId, (Long) row[1]);
+            }
+            allTimeTotals.computeIfAbsent(productId, id -> new SalesCounter())
+                    .add(((Number) row[2]).longValue(), toCents((BigDecimal) row[3]));
+        }
+
+        refreshRankings();
+    }
+
+    @Scheduled(fixedDelayString = "${top-sellers.flush-interval-ms:30000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            persistPending();
+        } finally {
+            flushLock.unlock();
+        }
+
+        refreshRankings();
+    }
+
+    private void persistPending() {
+        Map<SalesKey, SalesCounter> toPersist;
+        pendingLock.writeLock().lock();
+        try {
+            toPersist = pendingDeltas;
+            pendingDeltas = new ConcurrentHashMap<>();
+        } finally {
+            pendingLock.writeLock().unlock();
+        }
+
+        if (toPersist.isEmpty()) {
+            return;
+        }
+
+        List<SalesDelta> deltas = toPersist.entrySet().stream()
+                .map(entry -> new SalesDelta(entry.getKey().productId(), entry.getKey().date(),
+                        productCategories.get(entry.getKey().productId()),
+                        entry.getValue().quantity.sum(), fromCents(entry.getValue().revenueCents.sum())))
+                .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> salesRepository.addSales(deltas));
+        } catch (Exception e) {
+            log.warn("Could not persist {} top-seller deltas, keeping them for the next flush: {}",
+                    deltas.size(), e.getMessage());
+            toPersist.forEach((key, delta) -> addPending(key, delta.quantity.sum(), delta.revenueCents.sum()));
+        }
+    }
+
+    public int rebuildFromHistory() {
+        int rows;
+        // The flush lock waits out a flush in progress; the write lock keeps recorders out while the table and
+        // in-memory totals are replaced
+        flushLock.lock();
+        pendingLock.writeLock().lock();
+        try {
+            pendingDeltas = new ConcurrentHashMap<>();
+            Integer inserted = transactionTemplate.execute(status -> {
+                salesRepository.deleteAllSales();
+                return salesRepository.rebuildFromOrderItems();
+            });
+            rows = inserted != null ? inserted : 0;
+            restoreKnownCategories();
+            loadCounters();
+        } finally {
+            pendingLock.writeLock().unlock();
+            flushLock.unlock();
+        }
+
+        resolveMissingCategories();
+        refreshRankings();
+        return rows;
+    }
+
+    private void recordAfterCommit(Long productId, Long categoryId, LocalDateTime orderCreatedAt,
+                                   long quantity, BigDecimal amount) {
+        LocalDate salesDate = orderCreatedAt != null ? orderCreatedAt.toLocalDate() : LocalDate.now();
+        long revenueCents = toCents(amount);
+        Runnable apply = () -> apply(productId, categoryId, salesDate, quantity, revenueCents);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private void apply(Long productId, Long categoryId, LocalDate salesDate, long quantity, long revenueCents) {
+        if (categoryId != null) {
+            productCategories.put(productId, categoryId);
+        }
+        SalesKey key = new SalesKey(productId, salesDate);
+        pendingLock.readLock().lock();
+        try {
+            if (!salesDate.isBefore(LocalDate.now().minusDays(MONTH_DAYS - 1L))) {
+                dailyTotals.computeIfAbsent(key, k -> new SalesCounter()).add(quantity, revenueCents);
+            }
+            allTimeTotals.computeIfAbsent(productId, id -> new SalesCounter()).add(quantity, revenueCents);
+            pendingDeltas.computeIfAbsent(key, k -> new SalesCounter()).add(quantity, revenueCents);
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    private void addPending(SalesKey key, long quantity, long revenueCents) {
+        pendingLock.readLock().lock();
+        try {
+            pendingDeltas.computeIfAbsent(key, k -> new SalesCounter()).add(quantity, revenueCents);
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    private void restoreKnownCategories() {
+        transactionTemplate.executeWithoutResult(status ->
+                productCategories.forEach(salesRepository::updateCategory));
+    }
+
+    private void resolveMissingCategories() {
+        List<Long> missing = allTimeTotals.keySet().stream()
+                .filter(productId -> !productCategories.containsKey(productId))
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ProductResponseDto> products;
+        try {
+            products = productClient.getProducts(missing);
+        } catch (Exception e) {
+            // Handle gracefully - the products are retried on the next refresh and still rank under all categories
+            return;
+        }
+
+        // Deleted products are absent from the batch and still rank under all categories
+        products.forEach((productId, product) -> {
+            if (product.getCategory() != null) {
+                productCategories.put(productId, product.getCategory().getId());
+                transactionTemplate.executeWithoutResult(status ->
+                        salesRepository.updateCategory(productId, product.getCategory().getId()));
+            }
+        });
+    }
+
+    private void refreshRankings() {
+        LocalDate today = LocalDate.now();
+        dailyTotals.keySet().removeIf(key -> key.date().isBefore(today.minusDays(MONTH_DAYS - 1L)));
+
+        Map<LeaderboardWindow, Map<Long, long[]>> totalsByWindow = new EnumMap<>(LeaderboardWindow.class);
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            totalsByWindow.put(window, new HashMap<>());
+        }
+
+        dailyTotals.forEach((key, counter) -> {
+            for (LeaderboardWindow window : List.of(LeaderboardWindow.DAY, LeaderboardWindow.WEEK, LeaderboardWindow.MONTH)) {
+                if (!key.date().isBefore(windowStart(window, today))) {
+                    long[] totals = totalsByWindow.get(window).computeIfAbsent(key.productId(), id -> new long[2]);
+                    totals[0] += counter.quantity.sum();
+                    totals[1] += counter.revenueCents.sum();
+                }
+            }
+        });
+        allTimeTotals.forEach((productId, counter) -> totalsByWindow.get(LeaderboardWindow.ALL_TIME)
+                .put(productId, new long[]{counter.quantity.sum(), counter.revenueCents.sum()}));
+
+        Map<LeaderboardWindow, Map<Long, List<TopSellerResponseDto>>> refreshed = new EnumMap<>(LeaderboardWindow.class);
+        totalsByWindow.forEach((window, totals) -> refreshed.put(window, rank(totals)));
+        rankings = refreshed;
+    }
+
+    private Map<Long, List<TopSellerResponseDto>> rank(Map<Long, long[]> totalsByProduct) {
+        Map<Long, List<TopSellerResponseDto>> candidates = new HashMap<>();
+        totalsByProduct.forEach((productId, totals) -> {
+            if (totals[0] <= 0) {
+                return;
+            }
+            Long categoryId = productCategories.get(productId);
+            TopSellerResponseDto entry = new TopSellerResponseDto(null, productId, categoryId, totals[0], fromCents(totals[1]));
+            candidates.computeIfAbsent(ALL_CATEGORIES, id -> new ArrayList<>()).add(entry);
+            if (categoryId != null) {
+                candidates.computeIfAbsent(categoryId, id -> new ArrayList<>()).add(entry);
+            }
+        });
+
+        Comparator<TopSellerResponseDto> bestSellingFirst = Comparator
+                .comparing(TopSellerResponseDto::getQuantitySold, Comparator.reverseOrder())
+                .thenComparing(TopSellerResponseDto::getRevenue, Comparator.reverseOrder())
+                .thenComparing(TopSellerResponseDto::getProductId);
+
+        Map<Long, List<TopSellerResponseDto>> ranked = new HashMap<>();
+        candidates.forEach((categoryId, entries) -> {
+            List<TopSellerResponseDto> top = entries.stream()
+                    .sorted(bestSellingFirst)
+                    .limit(maxRankedPerCategory)
+                    .toList();
+            List<TopSellerResponseDto> withRank = new ArrayList<>(top.size());
+            for (int i = 0; i < top.size(); i++) {
+                TopSellerResponseDto entry = top.get(i);
+                withRank.add(new TopSellerResponseDto(i + 1, entry.getProductId(), entry.getCategoryId(),
+                        entry.getQuantitySold(), entry.getRevenue()));
+            }
+            ranked.put(categoryId, List.copyOf(withRank));
+        });
+        return ranked;
+    }
+
+    private static LocalDate windowStart(LeaderboardWindow window, LocalDate today) {
+        return switch (window) {
+            case DAY -> today;
+            case WEEK -> today.minusDays(6);
+            case MONTH -> today.minusDays(MONTH_DAYS - 1L);
+            case ALL_TIME -> LocalDate.MIN;
+        };
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private record SalesKey(Long productId, LocalDate date) {
+    }
+
+    private static final class SalesCounter {
+        private final LongAdder quantity = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+
+        private void add(long quantityDelta, long revenueCentsDelta) {
+            quantity.add(quantityDelta);
+            revenueCents.add(revenueCentsDelta);
+        }
+    }
+}
@@ -31,6 +31,12 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<List<ProductResponseDto>> getProductsByIds(@RequestParam List<Long> ids) {
+        List<ProductResponseDto> products = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(products);
+    }
+
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<List<ProductResponseDto>> getProductsByCategory(@PathVariable Long categoryId) {
         List<ProductResponseDto> products = productService.getProductsByCategory(categoryId);
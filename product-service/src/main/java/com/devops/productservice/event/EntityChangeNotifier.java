@@ -0,0 +1,31 @@
+package com.devops.productservice.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Tells the near-caches in cart, order and review services that a product changed. pg_notify is sent on the
+// writing transaction, so Postgres delivers it only on commit and drops it on rollback.
+@Component
+@RequiredArgsConstructor
+public class EntityChangeNotifier {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${entity-changes.channel:entity_changes}")
+    private String channel;
+
+    public void productChanged(Long productId) {
+        notify("product:" + productId);
+    }
+
+    // Every cached product embeds its category, so a category change drops them all
+    public void allProductsChanged() {
+        notify("product:*");
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> { }, channel, payload);
+    }
+}
\ No newline at end of file
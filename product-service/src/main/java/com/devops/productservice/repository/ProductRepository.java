@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +29,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("SELECT p FROM Product p WHERE p.stockQuantity <= :threshold AND p.active = true")
     List<Product> findLowStockProducts(@Param("threshold") Integer threshold);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id IN :ids AND p.active = true")
+    List<Product> findActiveWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
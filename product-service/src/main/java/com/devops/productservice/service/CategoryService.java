@@ -1,5 +1,6 @@
 package com.devops.productservice.service;
 
+import com.devops.productservice.event.EntityChangeNotifier;
 import com.devops.productservice.exception.DuplicateResourceException;
 import com.devops.productservice.exception.ResourceNotFoundException;
 import com.devops.productservice.model.dto.request.CategoryRequestDto;
@@ -20,6 +21,7 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ModelMapper modelMapper;
+    private final EntityChangeNotifier entityChangeNotifier;
 
     @Transactional(readOnly = true)
     public List<CategoryResponseDto> getAllCategories() {
@@ -51,6 +53,7 @@ public class CategoryService {
 
         modelMapper.map(requestDto, existingCategory);
         Category updatedCategory = categoryRepository.save(existingCategory);
+        entityChangeNotifier.allProductsChanged();
         return mapToResponseDto(updatedCategory);
     }
 
@@ -58,6 +61,7 @@ public class CategoryService {
         Category category = findCategoryById(id);
         category.setActive(false);
         categoryRepository.save(category);
+        entityChangeNotifier.allProductsChanged();
     }
 
     private Category findCategoryById(Long id) {
@@ -1,5 +1,6 @@
 package com.devops.productservice.service;
 
+import com.devops.productservice.event.EntityChangeNotifier;
 import com.devops.productservice.exception.ResourceNotFoundException;
 import com.devops.productservice.model.dto.request.ProductRequestDto;
 import com.devops.productservice.model.dto.response.ProductResponseDto;
@@ -9,11 +10,14 @@ import com.devops.productservice.repository.CategoryRepository;
 import com.devops.productservice.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +27,10 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ModelMapper modelMapper;
+    private final EntityChangeNotifier entityChangeNotifier;
+
+    @Value("${products.lookup.max-batch-size:100}")
+    private int maxBatchSize;
 
     @Transactional(readOnly = true)
     public List<ProductResponseDto> getAllProducts() {
@@ -37,6 +45,22 @@ public class ProductService {
         return mapToResponseDto(product);
     }
 
+    // One query with the category joined in for callers enriching many rows; missing or inactive ids are left out
+    @Transactional(readOnly = true)
+    public List<ProductResponseDto> getProductsByIds(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " products can be looked up at once");
+        }
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+
+        return productRepository.findActiveWithCategoryByIdIn(distinctIds).stream()
+                .map(this::mapToResponseDto)
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public List<ProductResponseDto> getProductsByCategory(Long categoryId) {
         validateCategoryExists(categoryId);
@@ -75,6 +99,7 @@ public class ProductService {
         }
 
         Product savedProduct = productRepository.save(product);
+        entityChangeNotifier.productChanged(savedProduct.getId());
         return mapToResponseDto(savedProduct);
     }
 
@@ -89,6 +114,7 @@ public class ProductService {
         }
 
         Product updatedProduct = productRepository.save(existingProduct);
+        entityChangeNotifier.productChanged(id);
         return mapToResponseDto(updatedProduct);
     }
 
@@ -96,12 +122,14 @@ public class ProductService {
         Product product = findProductById(id);
         product.setActive(false);
         productRepository.save(product);
+        entityChangeNotifier.productChanged(id);
     }
 
     public ProductResponseDto updateStock(Long id, Integer stockQuantity) {
         Product product = findProductById(id);
         product.setStockQuantity(stockQuantity);
         Product updatedProduct = productRepository.save(product);
+        entityChangeNotifier.productChanged(id);
         return mapToResponseDto(updatedProduct);
     }
 
@@ -0,0 +1,37 @@
+package com.devops.reviewservice.client;
+
+import com.devops.reviewservice.model.dto.request.PurchaseCheckBatchRequestDto;
+import com.devops.reviewservice.model.dto.request.PurchaseCheckRequestDto;
+import com.devops.reviewservice.model.dto.response.PurchaseCheckResponseDto;
+import com.devops.serviceclient.resilience.DependencyGuard;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class OrderServiceClient {
+
+    private final RestTemplate orderServiceRestTemplate;
+    private final DependencyGuard dependencyGuard;
+
+    @Value("${services.order-service.url:http://localhost:8084}")
+    private String orderServiceUrl;
+
+    public OrderServiceClient(@Qualifier("orderServiceRestTemplate") RestTemplate orderServiceRestTemplate,
+                              DependencyGuard dependencyGuard) {
+        this.orderServiceRestTemplate = orderServiceRestTemplate;
+        this.dependencyGuard = dependencyGuard;
+    }
+
+    public List<PurchaseCheckResponseDto> checkPurchases(List<PurchaseCheckRequestDto> checks) {
+        String url = orderServiceUrl + "/api/orders/purchase-checks";
+        // Same circuit breaker and bulkhead treatment as the user and product lookups
+        PurchaseCheckResponseDto[] results = dependencyGuard.call("order-service", () -> orderServiceRestTemplate.postForObject(
+                url, new PurchaseCheckBatchRequestDto(checks), PurchaseCheckResponseDto[].class));
+        return results != null ? Arrays.asList(results) : List.of();
+    }
+}
\ No newline at end of file
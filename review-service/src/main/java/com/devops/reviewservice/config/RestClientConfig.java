@@ -1,14 +1,16 @@
 package com.devops.reviewservice.config;
 
+import com.devops.serviceclient.config.PooledRestTemplateFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+// User and product lookups come from service-client; only the purchase check against order-service is local
 @Configuration
 public class RestClientConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate orderServiceRestTemplate(PooledRestTemplateFactory pooledRestTemplateFactory) {
+        return pooledRestTemplateFactory.create("order-service");
     }
-}
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.devops.reviewservice.controller;
 
+import com.devops.reviewservice.model.dto.response.RatingSummaryResponseDto;
+import com.devops.reviewservice.model.dto.response.ReviewPageResponseDto;
 import com.devops.reviewservice.model.dto.response.ReviewResponseDto;
+import com.devops.reviewservice.model.enums.ReviewSort;
 import com.devops.reviewservice.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +24,22 @@ public class ProductReviewController {
         return ResponseEntity.ok(reviews);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ReviewPageResponseDto> getProductReviewPage(@PathVariable Long productId,
+                                                                      @RequestParam(defaultValue = "NEWEST") ReviewSort sort,
+                                                                      @RequestParam(required = false) Integer minRating,
+                                                                      @RequestParam(required = false) Integer size,
+                                                                      @RequestParam(required = false) String cursor) {
+        ReviewPageResponseDto page = reviewService.getProductReviewPage(productId, sort, minRating, size, cursor);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/rating-summary")
+    public ResponseEntity<RatingSummaryResponseDto> getRatingSummary(@PathVariable Long productId) {
+        RatingSummaryResponseDto summary = reviewService.getRatingSummary(productId);
+        return ResponseEntity.ok(summary);
+    }
+
     @GetMapping("/average-rating")
     public ResponseEntity<Double> getAverageRating(@PathVariable Long productId) {
         Double averageRating = reviewService.getAverageRating(productId);
@@ -0,0 +1,23 @@
+package com.devops.reviewservice.controller;
+
+import com.devops.reviewservice.model.dto.response.RatingSummaryResponseDto;
+import com.devops.reviewservice.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reviews/rating-summaries")
+@RequiredArgsConstructor
+public class RatingSummaryController {
+
+    private final ReviewService reviewService;
+
+    @GetMapping
+    public ResponseEntity<List<RatingSummaryResponseDto>> getRatingSummaries(@RequestParam List<Long> productIds) {
+        List<RatingSummaryResponseDto> summaries = reviewService.getRatingSummaries(productIds);
+        return ResponseEntity.ok(summaries);
+    }
+}
@@ -0,0 +1,18 @@
+package com.devops.reviewservice.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseCheckBatchRequestDto {
+
+    @NotNull(message = "Checks are required")
+    private List<@Valid @NotNull PurchaseCheckRequestDto> checks;
+}
@@ -1,12 +0,0 @@
-package com.devops.reviewservice.model.dto.response;
-
-import lombok.Data;
-import java.math.BigDecimal;
-
-@Data
-public class ProductResponseDto {
-    private Long id;
-    private String name;
-    private String description;
-    private BigDecimal price;
-}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.devops.reviewservice.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseCheckResponseDto {
+    private Long userId;
+    private Long productId;
+    private Boolean purchased;
+}
@@ -0,0 +1,17 @@
+package com.devops.reviewservice.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryResponseDto {
+    private Long productId;
+    private Long reviewCount;
+    private Double averageRating;
+    private Map<Integer, Long> distribution;
+}
@@ -0,0 +1,16 @@
+package com.devops.reviewservice.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewPageResponseDto {
+    private List<ReviewResponseDto> reviews;
+    private String nextCursor;
+    private Boolean hasMore;
+}
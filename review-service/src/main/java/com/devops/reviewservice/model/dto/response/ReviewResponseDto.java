@@ -1,5 +1,7 @@
 package com.devops.reviewservice.model.dto.response;
 
+import com.devops.serviceclient.dto.ProductResponseDto;
+import com.devops.serviceclient.dto.UserResponseDto;
 import lombok.Data;
 
 import java.time.LocalDateTime;
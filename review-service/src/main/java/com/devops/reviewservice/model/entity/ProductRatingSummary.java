@@ -0,0 +1,44 @@
+package com.devops.reviewservice.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "product_rating_summary")
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class ProductRatingSummary {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "review_count", nullable = false)
+    private Long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum;
+
+    @Column(name = "rating_1_count", nullable = false)
+    private Long rating1Count;
+
+    @Column(name = "rating_2_count", nullable = false)
+    private Long rating2Count;
+
+    @Column(name = "rating_3_count", nullable = false)
+    private Long rating3Count;
+
+    @Column(name = "rating_4_count", nullable = false)
+    private Long rating4Count;
+
+    @Column(name = "rating_5_count", nullable = false)
+    private Long rating5Count;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -35,12 +35,16 @@ public class Review {
     @Column(columnDefinition = "TEXT")
     private String comment;
 
-    @Column(name = "verified_purchase")
+    @Column(name = "verified_purchase", nullable = false)
     private Boolean verifiedPurchase = false;
 
     @Column(nullable = false)
     private Boolean active = true;
 
+    // Null until order-service has confirmed or rejected the purchase behind verifiedPurchase
+    @Column(name = "purchase_verified_at")
+    private LocalDateTime purchaseVerifiedAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
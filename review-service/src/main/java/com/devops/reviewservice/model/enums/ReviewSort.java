@@ -0,0 +1,7 @@
+package com.devops.reviewservice.model.enums;
+
+public enum ReviewSort {
+    NEWEST,
+    RATING,
+    VERIFIED
+}
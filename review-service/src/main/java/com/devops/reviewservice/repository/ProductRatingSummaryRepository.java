@@ -0,0 +1,31 @@
+package com.devops.reviewservice.repository;
+
+import com.devops.reviewservice.model.entity.ProductRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductRatingSummaryRepository extends JpaRepository<ProductRatingSummary, Long> {
+
+    // A single upsert keeps concurrent reviews of the same product from losing updates
+    @Modifying
+    @Query(value = "INSERT INTO product_rating_summary " +
+            "(product_id, review_count, rating_sum, rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count, updated_at) " +
+            "VALUES (:productId, :countDelta, :countDelta * :rating, " +
+            "CASE WHEN :rating = 1 THEN :countDelta ELSE 0 END, CASE WHEN :rating = 2 THEN :countDelta ELSE 0 END, " +
+            "CASE WHEN :rating = 3 THEN :countDelta ELSE 0 END, CASE WHEN :rating = 4 THEN :countDelta ELSE 0 END, " +
+            "CASE WHEN :rating = 5 THEN :countDelta ELSE 0 END, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (product_id) DO UPDATE SET " +
+            "review_count = product_rating_summary.review_count + EXCLUDED.review_count, " +
+            "rating_sum = product_rating_summary.rating_sum + EXCLUDED.rating_sum, " +
+            "rating_1_count = product_rating_summary.rating_1_count + EXCLUDED.rating_1_count, " +
+            "rating_2_count = product_rating_summary.rating_2_count + EXCLUDED.rating_2_count, " +
+            "rating_3_count = product_rating_summary.rating_3_count + EXCLUDED.rating_3_count, " +
+            "rating_4_count = product_rating_summary.rating_4_count + EXCLUDED.rating_4_count, " +
+            "rating_5_count = product_rating_summary.rating_5_count + EXCLUDED.rating_5_count, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    void addRating(@Param("productId") Long productId, @Param("rating") int rating, @Param("countDelta") long countDelta);
+}
@@ -1,11 +1,15 @@
 package com.devops.reviewservice.repository;
 
 import com.devops.reviewservice.model.entity.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,4 +37,44 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r WHERE r.productId = :productId AND r.rating >= :minRating AND r.active = true")
     List<Review> findByProductIdAndRatingGreaterThanEqual(@Param("productId") Long productId,
                                                           @Param("minRating") Integer minRating);
-}
\ No newline at end of file
+
+    List<Review> findByPurchaseVerifiedAtIsNullAndActiveTrueOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Review r SET r.verifiedPurchase = :verified, r.purchaseVerifiedAt = :verifiedAt " +
+            "WHERE r.id IN :ids AND r.purchaseVerifiedAt IS NULL")
+    int markPurchaseVerified(@Param("ids") Collection<Long> ids,
+                             @Param("verified") Boolean verified,
+                             @Param("verifiedAt") LocalDateTime verifiedAt);
+
+    // Keyset pages: each query walks its partial index from the cursor position, so page N costs the same as page 1
+
+    @Query(value = "SELECT * FROM review r WHERE r.product_id = :productId AND r.active = true " +
+            "AND r.rating >= :minRating AND (r.created_at, r.id) < (:createdAt, :id) " +
+            "ORDER BY r.created_at DESC, r.id DESC LIMIT :limit", nativeQuery = true)
+    List<Review> findPageByNewest(@Param("productId") Long productId,
+                                  @Param("minRating") Integer minRating,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM review r WHERE r.product_id = :productId AND r.active = true " +
+            "AND r.rating >= :minRating AND (r.rating, r.created_at, r.id) < (:rating, :createdAt, :id) " +
+            "ORDER BY r.rating DESC, r.created_at DESC, r.id DESC LIMIT :limit", nativeQuery = true)
+    List<Review> findPageByRating(@Param("productId") Long productId,
+                                  @Param("minRating") Integer minRating,
+                                  @Param("rating") Integer rating,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM review r WHERE r.product_id = :productId AND r.active = true " +
+            "AND r.rating >= :minRating AND (r.verified_purchase, r.created_at, r.id) < (:verified, :createdAt, :id) " +
+            "ORDER BY r.verified_purchase DESC, r.created_at DESC, r.id DESC LIMIT :limit", nativeQuery = true)
+    List<Review> findPageByVerified(@Param("productId") Long productId,
+                                    @Param("minRating") Integer minRating,
+                                    @Param("verified") Boolean verified,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    @Param("limit") int limit);
+}
@@ -0,0 +1,93 @@
+package com.devops.reviewservice.service;
+
+import com.devops.reviewservice.client.OrderServiceClient;
+import com.devops.reviewservice.model.dto.request.PurchaseCheckRequestDto;
+import com.devops.reviewservice.model.dto.response.PurchaseCheckResponseDto;
+import com.devops.reviewservice.model.entity.Review;
+import com.devops.reviewservice.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurchaseVerificationService {
+
+    private final ReviewRepository reviewRepository;
+    private final OrderServiceClient orderServiceClient;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${purchase-verification.batch-size:200}")
+    private int batchSize;
+
+    @Value("${purchase-verification.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    // Reviews are written with purchase_verified_at unset; this picks them up afterwards so
+    // creating a review never waits on order-service
+    @Scheduled(fixedDelayString = "${purchase-verification.poll-interval-ms:5000}")
+    public void verifyPendingReviews() {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Review> pending = reviewRepository.findByPurchaseVerifiedAtIsNullAndActiveTrueOrderByIdAsc(
+                    PageRequest.of(0, batchSize));
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            List<PurchaseCheckResponseDto> results;
+            try {
+                results = orderServiceClient.checkPurchases(pending.stream()
+                        .map(review -> new PurchaseCheckRequestDto(review.getUserId(), review.getProductId()))
+                        .toList());
+            } catch (Exception e) {
+                log.warn("Purchase verification for {} reviews failed, retrying on the next run: {}",
+                        pending.size(), e.getMessage());
+                return;
+            }
+
+            applyResults(pending, results);
+            if (pending.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void applyResults(List<Review> pending, List<PurchaseCheckResponseDto> results) {
+        Set<String> purchased = new HashSet<>();
+        results.stream()
+                .filter(result -> Boolean.TRUE.equals(result.getPurchased()))
+                .forEach(result -> purchased.add(result.getUserId() + ":" + result.getProductId()));
+
+        List<Long> verifiedIds = new ArrayList<>();
+        List<Long> unverifiedIds = new ArrayList<>();
+        for (Review review : pending) {
+            if (purchased.contains(review.getUserId() + ":" + review.getProductId())) {
+                verifiedIds.add(review.getId());
+            } else {
+                unverifiedIds.add(review.getId());
+            }
+        }
+
+        LocalDateTime verifiedAt = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!verifiedIds.isEmpty()) {
+                reviewRepository.markPurchaseVerified(verifiedIds, true, verifiedAt);
+            }
+            if (!unverifiedIds.isEmpty()) {
+                reviewRepository.markPurchaseVerified(unverifiedIds, false, verifiedAt);
+            }
+        });
+        log.debug("Resolved purchase verification for {} reviews ({} verified)", pending.size(), verifiedIds.size());
+    }
+}
@@ -0,0 +1,134 @@
+package com.devops.reviewservice.service;
+
+import com.devops.reviewservice.model.dto.response.RatingSummaryResponseDto;
+import com.devops.reviewservice.model.entity.ProductRatingSummary;
+import com.devops.reviewservice.repository.ProductRatingSummaryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class RatingSummaryService {
+
+    private final ProductRatingSummaryRepository summaryRepository;
+
+    private final Cache<Long, RatingSummaryResponseDto> cache;
+    // Bumped on every committed write so a read that raced with it does not cache what it loaded
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Value("${rating-summary.max-batch-size:100}")
+    private int maxBatchSize;
+
+    public RatingSummaryService(ProductRatingSummaryRepository summaryRepository,
+                                @Value("${rating-summary.cache.ttl-ms:60000}") long cacheTtlMs,
+                                @Value("${rating-summary.cache.max-entries:10000}") long cacheMaxEntries) {
+        this.summaryRepository = summaryRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public RatingSummaryResponseDto getSummary(Long productId) {
+        RatingSummaryResponseDto cached = cache.getIfPresent(productId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = invalidations.get();
+        RatingSummaryResponseDto summary = summaryRepository.findById(productId)
+                .map(this::mapToResponseDto)
+                .orElseGet(() -> emptySummary(productId));
+
+        cacheIfCurrent(summary, stamp);
+        return summary;
+    }
+
+    @Transactional(readOnly = true)
+    public List<RatingSummaryResponseDto> getSummaries(List<Long> productIds) {
+        Set<Long> requested = new LinkedHashSet<>(productIds);
+        if (requested.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " product ids can be requested at once");
+        }
+
+        Map<Long, RatingSummaryResponseDto> found = new HashMap<>(cache.getAllPresent(requested));
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long productId : requested) {
+            if (!found.containsKey(productId)) {
+                misses.add(productId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long stamp = invalidations.get();
+            summaryRepository.findAllById(misses)
+                    .forEach(summary -> found.put(summary.getProductId(), mapToResponseDto(summary)));
+            for (Long productId : misses) {
+                RatingSummaryResponseDto summary = found.computeIfAbsent(productId, this::emptySummary);
+                cacheIfCurrent(summary, stamp);
+            }
+        }
+
+        return requested.stream()
+                .map(found::get)
+                .toList();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRating(Long productId, int rating, long countDelta) {
+        summaryRepository.addRating(productId, rating, countDelta);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidations.incrementAndGet();
+                cache.invalidate(productId);
+            }
+        });
+    }
+
+    private void cacheIfCurrent(RatingSummaryResponseDto summary, long stamp) {
+        if (invalidations.get() == stamp) {
+            cache.put(summary.getProductId(), summary);
+        }
+    }
+
+    private RatingSummaryResponseDto mapToResponseDto(ProductRatingSummary summary) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, summary.getRating1Count());
+        distribution.put(2, summary.getRating2Count());
+        distribution.put(3, summary.getRating3Count());
+        distribution.put(4, summary.getRating4Count());
+        distribution.put(5, summary.getRating5Count());
+
+        Double average = summary.getReviewCount() > 0
+                ? (double) summary.getRatingSum() / summary.getReviewCount()
+                : null;
+        return new RatingSummaryResponseDto(summary.getProductId(), summary.getReviewCount(), average,
+                Collections.unmodifiableMap(distribution));
+    }
+
+    private RatingSummaryResponseDto emptySummary(Long productId) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int rating = 1; rating <= 5; rating++) {
+            distribution.put(rating, 0L);
+        }
+        return new RatingSummaryResponseDto(productId, 0L, null, Collections.unmodifiableMap(distribution));
+    }
+}
@@ -1,20 +1,31 @@
 package com.devops.reviewservice.service;
 
-import com.devops.reviewservice.client.ExternalServiceClient;
 import com.devops.reviewservice.exception.DuplicateResourceException;
 import com.devops.reviewservice.exception.ResourceNotFoundException;
 import com.devops.reviewservice.model.dto.request.ReviewRequestDto;
-import com.devops.reviewservice.model.dto.response.ProductResponseDto;
+import com.devops.reviewservice.model.dto.response.RatingSummaryResponseDto;
+import com.devops.reviewservice.model.dto.response.ReviewPageResponseDto;
 import com.devops.reviewservice.model.dto.response.ReviewResponseDto;
-import com.devops.reviewservice.model.dto.response.UserResponseDto;
 import com.devops.reviewservice.model.entity.Review;
+import com.devops.reviewservice.model.enums.ReviewSort;
 import com.devops.reviewservice.repository.ReviewRepository;
+import com.devops.serviceclient.client.ProductClient;
+import com.devops.serviceclient.client.UserClient;
+import com.devops.serviceclient.dto.ProductResponseDto;
+import com.devops.serviceclient.dto.UserResponseDto;
+import com.devops.serviceclient.resilience.DependencyGuard;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,24 +33,75 @@ import java.util.List;
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
-    private final ExternalServiceClient externalServiceClient;
+    private final RatingSummaryService ratingSummaryService;
+    private final UserClient userClient;
+    private final ProductClient productClient;
+    private final DependencyGuard dependencyGuard;
     private final ModelMapper modelMapper;
 
+    // Start position of a first page: sorts before every real row in all three orderings
+    private static final ReviewCursor FIRST_PAGE = new ReviewCursor(Integer.MAX_VALUE, true,
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    @Value("${reviews.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${reviews.page.max-size:100}")
+    private int maxPageSize;
+
     @Transactional(readOnly = true)
     public List<ReviewResponseDto> getProductReviews(Long productId) {
-        validateProductExists(productId);
+        ProductResponseDto product = findProduct(productId);
 
-        return reviewRepository.findByProductIdAndActiveTrue(productId).stream()
-                .map(this::mapToResponseDto)
+        List<Review> reviews = reviewRepository.findByProductIdAndActiveTrue(productId);
+        Map<Long, UserResponseDto> users = findUsers(reviews);
+        return reviews.stream()
+                .map(review -> mapToResponseDto(review, users.get(review.getUserId()), product))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public ReviewPageResponseDto getProductReviewPage(Long productId, ReviewSort sort, Integer minRating,
+                                                      Integer size, String cursor) {
+        // The product is fetched once per page, which both validates it and enriches every review on the page
+        ProductResponseDto product = findProduct(productId);
+
+        int pageSize = Math.min(size != null && size > 0 ? size : defaultPageSize, maxPageSize);
+        int ratingFloor = minRating != null ? minRating : 1;
+        ReviewCursor position = cursor != null ? ReviewCursor.decode(cursor, sort) : FIRST_PAGE;
+
+        // One extra row tells whether another page exists without a COUNT
+        List<Review> rows = switch (sort) {
+            case NEWEST -> reviewRepository.findPageByNewest(productId, ratingFloor,
+                    position.createdAt(), position.id(), pageSize + 1);
+            case RATING -> reviewRepository.findPageByRating(productId, ratingFloor, position.rating(),
+                    position.createdAt(), position.id(), pageSize + 1);
+            case VERIFIED -> reviewRepository.findPageByVerified(productId, ratingFloor, position.verified(),
+                    position.createdAt(), position.id(), pageSize + 1);
+        };
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Review> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Map<Long, UserResponseDto> users = findUsers(page);
+        List<ReviewResponseDto> reviews = page.stream()
+                .map(review -> mapToResponseDto(review, users.get(review.getUserId()), product))
                 .toList();
+
+        String nextCursor = hasMore ? ReviewCursor.of(page.get(page.size() - 1)).encode(sort) : null;
+        return new ReviewPageResponseDto(reviews, nextCursor, hasMore);
     }
 
     @Transactional(readOnly = true)
     public List<ReviewResponseDto> getUserReviews(Long userId) {
         validateUserExists(userId);
 
-        return reviewRepository.findByUserIdAndActiveTrue(userId).stream()
-                .map(this::mapToResponseDto)
+        // Every reviewed product comes back from one batch call; the reviewer is the same on every row
+        List<Review> reviews = reviewRepository.findByUserIdAndActiveTrue(userId);
+        Map<Long, UserResponseDto> users = findUsers(reviews);
+        Map<Long, ProductResponseDto> products = findProducts(reviews);
+        return reviews.stream()
+                .map(review -> mapToResponseDto(review, users.get(review.getUserId()), products.get(review.getProductId())))
                 .toList();
     }
 
@@ -49,16 +111,31 @@ public class ReviewService {
         return mapToResponseDto(review);
     }
 
+    @Transactional(readOnly = true)
+    public RatingSummaryResponseDto getRatingSummary(Long productId) {
+        RatingSummaryResponseDto summary = ratingSummaryService.getSummary(productId);
+
+        // A product with reviews is known to exist, only an empty summary needs the remote check
+        if (summary.getReviewCount() == 0) {
+            validateProductExists(productId);
+        }
+        return summary;
+    }
+
+    @Transactional(readOnly = true)
+    public List<RatingSummaryResponseDto> getRatingSummaries(List<Long> productIds) {
+        // Listing pages only show what they already know to exist, so no per-product remote validation here
+        return ratingSummaryService.getSummaries(productIds);
+    }
+
     @Transactional(readOnly = true)
     public Double getAverageRating(Long productId) {
-        validateProductExists(productId);
-        return reviewRepository.getAverageRatingForProduct(productId);
+        return getRatingSummary(productId).getAverageRating();
     }
 
     @Transactional(readOnly = true)
     public Long getReviewCount(Long productId) {
-        validateProductExists(productId);
-        return reviewRepository.getReviewCountForProduct(productId);
+        return getRatingSummary(productId).getReviewCount();
     }
 
     @Transactional(readOnly = true)
@@ -79,6 +156,7 @@ public class ReviewService {
         review.setUserId(userId);
 
         Review savedReview = reviewRepository.save(review);
+        ratingSummaryService.recordRating(savedReview.getProductId(), savedReview.getRating(), 1);
         return mapToResponseDto(savedReview);
     }
 
@@ -92,8 +170,20 @@ public class ReviewService {
 
         validateProductExists(requestDto.getProductId());
 
+        Long previousProductId = existingReview.getProductId();
+        Integer previousRating = existingReview.getRating();
         modelMapper.map(requestDto, existingReview);
+        if (!previousProductId.equals(existingReview.getProductId())) {
+            // A different product needs its own purchase check
+            existingReview.setVerifiedPurchase(false);
+            existingReview.setPurchaseVerifiedAt(null);
+        }
         Review updatedReview = reviewRepository.save(existingReview);
+
+        if (!previousProductId.equals(updatedReview.getProductId()) || !previousRating.equals(updatedReview.getRating())) {
+            ratingSummaryService.recordRating(previousProductId, previousRating, -1);
+            ratingSummaryService.recordRating(updatedReview.getProductId(), updatedReview.getRating(), 1);
+        }
         return mapToResponseDto(updatedReview);
     }
 
@@ -107,6 +197,7 @@ public class ReviewService {
 
         review.setActive(false);
         reviewRepository.save(review);
+        ratingSummaryService.recordRating(review.getProductId(), review.getRating(), -1);
     }
 
     private Review findActiveReviewById(Long reviewId) {
@@ -114,18 +205,28 @@ public class ReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "id", reviewId));
     }
 
+    // Only a 404 means the user or product is missing; user-service or product-service being unavailable
+    // surfaces as DependencyUnavailableException (503) rather than as a misleading 404
     private void validateUserExists(Long userId) {
-        try {
-            externalServiceClient.getUser(userId);
-        } catch (Exception e) {
+        if (!userClient.userExists(userId)) {
             throw new ResourceNotFoundException("User", "id", userId);
         }
     }
 
     private void validateProductExists(Long productId) {
         try {
-            externalServiceClient.getProduct(productId);
-        } catch (Exception e) {
+            productClient.getProduct(productId);
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+    }
+
+    // The reviews are ours to list even while product-service is unavailable; they then go out without
+    // product details unless the product-service enrichment fallback is set to fail
+    private ProductResponseDto findProduct(Long productId) {
+        try {
+            return dependencyGuard.enrichment("product-service", () -> productClient.getProduct(productId), () -> null);
+        } catch (HttpClientErrorException.NotFound e) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
     }
@@ -140,12 +241,38 @@ public class ReviewService {
         return modelMapper.map(dto, Review.class);
     }
 
+    // One batch call for every reviewer on the page; missing users are left off their reviews
+    private Map<Long, UserResponseDto> findUsers(List<Review> reviews) {
+        try {
+            return userClient.getUsers(reviews.stream().map(Review::getUserId).toList());
+        } catch (Exception e) {
+            // Handle gracefully - reviews are still listed without user details
+            return Map.of();
+        }
+    }
+
+    private Map<Long, ProductResponseDto> findProducts(List<Review> reviews) {
+        try {
+            return productClient.getProducts(reviews.stream().map(Review::getProductId).toList());
+        } catch (Exception e) {
+            // Handle gracefully - reviews are still listed without product details
+            return Map.of();
+        }
+    }
+
+    private ReviewResponseDto mapToResponseDto(Review review, UserResponseDto user, ProductResponseDto product) {
+        ReviewResponseDto dto = modelMapper.map(review, ReviewResponseDto.class);
+        dto.setUser(user);
+        dto.setProduct(product);
+        return dto;
+    }
+
     private ReviewResponseDto mapToResponseDto(Review review) {
         ReviewResponseDto dto = modelMapper.map(review, ReviewResponseDto.class);
 
         // Get user details
         try {
-            UserResponseDto user = externalServiceClient.getUser(review.getUserId());
+            UserResponseDto user = userClient.getUser(review.getUserId());
             dto.setUser(user);
         } catch (Exception e) {
             // Handle gracefully - user might be deleted
@@ -153,7 +280,7 @@ public class ReviewService {
 
         // Get product details
         try {
-            ProductResponseDto product = externalServiceClient.getProduct(review.getProductId());
+            ProductResponseDto product = productClient.getProduct(review.getProductId());
             dto.setProduct(product);
         } catch (Exception e) {
             // Handle gracefully - product might be deleted
@@ -161,4 +288,33 @@ public class ReviewService {
 
         return dto;
     }
-}
\ No newline at end of file
+
+    private record ReviewCursor(Integer rating, Boolean verified, LocalDateTime createdAt, Long id) {
+
+        private static final String SEPARATOR = "|";
+
+        static ReviewCursor of(Review review) {
+            return new ReviewCursor(review.getRating(), review.getVerifiedPurchase(), review.getCreatedAt(), review.getId());
+        }
+
+        String encode(ReviewSort sort) {
+            String raw = String.join(SEPARATOR, sort.name(), String.valueOf(rating), String.valueOf(verified),
+                    createdAt.toString(), String.valueOf(id));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ReviewCursor decode(String cursor, ReviewSort sort) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\" + SEPARATOR);
+                if (parts.length != 5 || !parts[0].equals(sort.name())) {
+                    throw new IllegalArgumentException("Cursor does not belong to sort " + sort);
+                }
+                return new ReviewCursor(Integer.valueOf(parts[1]), Boolean.valueOf(parts[2]),
+                        LocalDateTime.parse(parts[3]), Long.valueOf(parts[4]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
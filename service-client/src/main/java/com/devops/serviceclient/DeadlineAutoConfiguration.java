@@ -0,0 +1,50 @@
+package com.devops.serviceclient;
+
+import com.devops.serviceclient.deadline.DeadlineAwareJpaTransactionManager;
+import com.devops.serviceclient.deadline.DeadlineFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.TransactionManager;
+
+// Honours the X-Request-Budget-Ms deadline the gateway sets: the filter starts the clock, the pooled clients pass
+// the rest on, and the transaction manager caps queries by it. Runs before Boot's JPA setup so its transaction
+// manager takes the place of the default one.
+@AutoConfiguration(beforeName = "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "service-client.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineAutoConfiguration {
+
+    // Ahead of security and everything else, so an expired request costs as little as possible
+    @Bean
+    @ConditionalOnMissingBean(name = "deadlineFilter")
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(new DeadlineFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.orm.jpa.JpaTransactionManager")
+    static class DeadlineTransactionConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(TransactionManager.class)
+        public DeadlineAwareJpaTransactionManager transactionManager(
+                ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+            DeadlineAwareJpaTransactionManager transactionManager = new DeadlineAwareJpaTransactionManager();
+            transactionManagerCustomizers.ifAvailable(
+                    customizers -> customizers.customize((TransactionManager) transactionManager));
+            return transactionManager;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.devops.serviceclient;
+
+import com.devops.serviceclient.cache.EntityChangeListener;
+import com.devops.serviceclient.cache.LookupCache;
+import com.devops.serviceclient.cache.NearCache;
+import com.devops.serviceclient.cache.NearCacheProperties;
+import com.devops.serviceclient.cache.RequestLookupMemo;
+import com.devops.serviceclient.client.ClientCallMetrics;
+import com.devops.serviceclient.client.HttpProductClient;
+import com.devops.serviceclient.client.HttpUserClient;
+import com.devops.serviceclient.client.ProductClient;
+import com.devops.serviceclient.client.UserClient;
+import com.devops.serviceclient.config.HttpClientProperties;
+import com.devops.serviceclient.config.PooledRestTemplateFactory;
+import com.devops.serviceclient.diagnostics.VirtualThreadPinningMonitor;
+import com.devops.serviceclient.resilience.DependencyGuard;
+import com.devops.serviceclient.resilience.ResilienceProperties;
+import com.devops.serviceclient.stub.StubProductClient;
+import com.devops.serviceclient.stub.StubUserClient;
+import com.devops.serviceclient.web.StaleDataResponseAdvice;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@AutoConfiguration
+@EnableConfigurationProperties({HttpClientProperties.class, NearCacheProperties.class, ResilienceProperties.class})
+public class ServiceClientAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PooledRestTemplateFactory pooledRestTemplateFactory(HttpClientProperties properties,
+                                                               RestTemplateBuilder restTemplateBuilder,
+                                                               MeterRegistry meterRegistry) {
+        return new PooledRestTemplateFactory(properties, restTemplateBuilder, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DependencyGuard dependencyGuard(ResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+        return new DependencyGuard(resilienceProperties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ClientCallMetrics clientCallMetrics(MeterRegistry meterRegistry) {
+        return new ClientCallMetrics(meterRegistry);
+    }
+
+    // Users and products are held across requests in the near-cache; everything else is memoized per request
+    @Bean
+    @ConditionalOnMissingBean
+    public LookupCache lookupCache(NearCacheProperties nearCacheProperties, MeterRegistry meterRegistry) {
+        RequestLookupMemo requestMemo = new RequestLookupMemo(meterRegistry);
+        if (!nearCacheProperties.isEnabled()) {
+            return requestMemo;
+        }
+        return new NearCache(requestMemo, nearCacheProperties, List.of("user", "product"), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public StaleDataResponseAdvice staleDataResponseAdvice() {
+        return new StaleDataResponseAdvice();
+    }
+
+    // Only with spring.threads.virtual.enabled on Java 21, where pinned carrier threads are the new bottleneck
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(prefix = "service-client.pinning-monitor", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${service-client.pinning-monitor.threshold-ms:20}") long thresholdMs, MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs), meterRegistry);
+    }
+
+    // Each client exists only in services that configure its downstream URL, and a service can replace it
+    // with its own UserClient/ProductClient bean
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "service-client.stub", name = "enabled", havingValue = "false", matchIfMissing = true)
+    static class HttpClientsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "services.user-service", name = "url")
+        public UserClient userClient(PooledRestTemplateFactory pooledRestTemplateFactory,
+                                     @Value("${services.user-service.url}") String url,
+                                     @Value("${services.user-service.lookup-batch-size:500}") int lookupBatchSize,
+                                     LookupCache lookupCache, ClientCallMetrics clientCallMetrics,
+                                     DependencyGuard dependencyGuard) {
+            return new HttpUserClient(pooledRestTemplateFactory.create("user-service"), url, lookupBatchSize,
+                    lookupCache, clientCallMetrics, dependencyGuard);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "services.product-service", name = "url")
+        public ProductClient productClient(PooledRestTemplateFactory pooledRestTemplateFactory,
+                                           @Value("${services.product-service.url}") String url,
+                                           @Value("${services.product-service.lookup-batch-size:100}") int lookupBatchSize,
+                                           LookupCache lookupCache, ClientCallMetrics clientCallMetrics,
+                                           DependencyGuard dependencyGuard) {
+            return new HttpProductClient(pooledRestTemplateFactory.create("product-service"), url, lookupBatchSize,
+                    lookupCache, clientCallMetrics, dependencyGuard);
+        }
+    }
+
+    // Evictions follow the pg_notify messages user-service and product-service send on commit; without a
+    // Postgres datasource the near-cache relies on its TTL alone, and without a near-cache there is nothing to evict
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.postgresql.PGConnection")
+    @ConditionalOnProperty(prefix = "service-client.near-cache", name = {"enabled", "invalidation.enabled"},
+            havingValue = "true", matchIfMissing = true)
+    static class EntityChangeListenerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "spring.datasource.url")
+        public EntityChangeListener entityChangeListener(LookupCache lookupCache, NearCacheProperties nearCacheProperties,
+                                                         @Value("${spring.datasource.url}") String url,
+                                                         @Value("${spring.datasource.username:}") String username,
+                                                         @Value("${spring.datasource.password:}") String password) {
+            return new EntityChangeListener(lookupCache, nearCacheProperties.getInvalidation(), url, username, password);
+        }
+    }
+
+    // service-client.stub.enabled=true swaps both clients for in-memory stubs that tests can seed
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "service-client.stub", name = "enabled", havingValue = "true")
+    static class StubClientsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(UserClient.class)
+        public StubUserClient stubUserClient() {
+            return new StubUserClient();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(ProductClient.class)
+        public StubProductClient stubProductClient() {
+            return new StubProductClient();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.devops.serviceclient.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+// LISTENs on the channel user-service and product-service pg_notify on when they commit a change, and drops
+// the changed entry ("user:42") or a whole entity ("product:*") from the lookup cache. Uses its own
+// connection rather than one from the pool, since a listener holds it for the life of the service.
+@Slf4j
+public class EntityChangeListener implements DisposableBean {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final LookupCache lookupCache;
+    private final NearCacheProperties.Invalidation settings;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public EntityChangeListener(LookupCache lookupCache, NearCacheProperties.Invalidation settings, String url,
+                                String username, String password) {
+        if (!CHANNEL.matcher(settings.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + settings.getChannel());
+        }
+        this.lookupCache = lookupCache;
+        this.settings = settings;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "entity-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + settings.getChannel());
+                // Changes committed while nothing was listening were never seen, so nothing cached before now is trusted
+                lookupCache.invalidateAll();
+                log.info("Listening for entity changes on channel {}", settings.getChannel());
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(settings.getPollTimeoutMs());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Entity change listener lost its connection, retrying in {} ms: {}",
+                        settings.getReconnectDelayMs(), e.getMessage());
+                try {
+                    Thread.sleep(settings.getReconnectDelayMs());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator <= 0) {
+            log.debug("Ignoring malformed entity change notification {}", payload);
+            return;
+        }
+
+        String entity = payload.substring(0, separator);
+        String key = payload.substring(separator + 1);
+        if ("*".equals(key)) {
+            lookupCache.invalidateAll(entity);
+            return;
+        }
+        try {
+            lookupCache.invalidate(entity, Long.valueOf(key));
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed entity change notification {}", payload);
+        }
+    }
+}
\ No newline at end of file
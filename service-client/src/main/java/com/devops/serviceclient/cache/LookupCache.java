@@ -0,0 +1,28 @@
+package com.devops.serviceclient.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Sits in front of every lookup the clients make. The default keeps results for the current request only;
+// a service can declare its own LookupCache bean to cache across requests instead.
+public interface LookupCache {
+
+    <T> T get(String entity, Object key, Supplier<T> loader);
+
+    // Bulk lookups leave ids that do not resolve out of the map; by default they always go to the loader
+    default <T> Map<Long, T> getAll(String entity, Collection<Long> keys, Function<Collection<Long>, Map<Long, T>> loader) {
+        return loader.apply(keys);
+    }
+
+    // Called when the owning service reports a change, so caches that outlive a request can drop the entry
+    default void invalidate(String entity, Object key) {
+    }
+
+    default void invalidateAll(String entity) {
+    }
+
+    default void invalidateAll() {
+    }
+}
\ No newline at end of file
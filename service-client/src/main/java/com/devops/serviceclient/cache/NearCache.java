@@ -0,0 +1,400 @@
+package com.devops.serviceclient.cache;
+
+import com.devops.serviceclient.resilience.DependencyUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Size- and TTL-bounded cache of user and product lookups that outlives the request. Entities without a
+// cache (addresses, existence checks) fall through to the per-request memo. Every user and product it loads is
+// also kept much longer as a last-known-good copy, which answers while the owning service is unavailable.
+@Slf4j
+public class NearCache implements LookupCache, DisposableBean {
+
+    private final LookupCache requestMemo;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EntityCache> caches = new HashMap<>();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    public NearCache(LookupCache requestMemo, NearCacheProperties properties, Collection<String> entities,
+                     MeterRegistry meterRegistry) {
+        this.requestMemo = requestMemo;
+        this.meterRegistry = meterRegistry;
+        // Duplicate refreshes are suppressed per key, so the queue only has to hold distinct hot keys
+        this.refreshExecutor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "near-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        for (String entity : entities) {
+            EntityCache cache = new EntityCache(entity, properties.forEntity(entity), meterRegistry);
+            caches.put(entity, cache);
+            CaffeineCacheMetrics.monitor(meterRegistry, cache.entries, "near-cache." + entity);
+            Gauge.builder("service.client.near.cache.hit.ratio", cache.entries, entries -> entries.stats().hitRate())
+                    .description("Share of lookups answered from the near-cache without a downstream call")
+                    .tag("entity", entity)
+                    .register(meterRegistry);
+            Gauge.builder("service.client.last.known.good.size", cache.lastKnownGood, Cache::estimatedSize)
+                    .description("Entries kept to answer lookups while the owning service is unavailable")
+                    .tag("entity", entity)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public <T> T get(String entity, Object key, Supplier<T> loader) {
+        EntityCache cache = caches.get(entity);
+        if (cache == null) {
+            return requestMemo.get(entity, key, loader);
+        }
+
+        Entry entry = cache.entries.getIfPresent(key);
+        if (entry == null) {
+            try {
+                entry = loadOnce(cache, key, loader);
+            } catch (DependencyUnavailableException e) {
+                Entry known = cache.lastKnownGood.getIfPresent(key);
+                if (known == null) {
+                    throw e;
+                }
+                serveStale(cache, known);
+                refresh(cache, List.of(key), () -> Map.of(key, load(loader)));
+                return known.unwrap(entity, key);
+            }
+        }
+
+        if (entry.isStale(cache.refreshAfterNanos)) {
+            refresh(cache, List.of(key), () -> Map.of(key, load(loader)));
+        }
+        return entry.unwrap(entity, key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Map<Long, T> getAll(String entity, Collection<Long> keys, Function<Collection<Long>, Map<Long, T>> loader) {
+        EntityCache cache = caches.get(entity);
+        if (cache == null) {
+            return requestMemo.getAll(entity, keys, loader);
+        }
+
+        Map<Long, T> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        List<Object> stale = new ArrayList<>();
+        for (Long key : new LinkedHashSet<>(keys)) {
+            Entry entry = cache.entries.getIfPresent(key);
+            if (entry == null) {
+                missing.add(key);
+                continue;
+            }
+            if (entry.found()) {
+                found.put(key, (T) entry.value());
+            }
+            if (entry.isStale(cache.refreshAfterNanos)) {
+                stale.add(key);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            refresh(cache, stale, () -> reloadAll(stale, loader));
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        // An invalidation that lands while the batch is in flight may concern a row it already read,
+        // so the batch is returned but not cached
+        long stamp = cache.invalidations.get();
+        Map<Long, T> loaded;
+        try {
+            loaded = loader.apply(missing);
+        } catch (DependencyUnavailableException e) {
+            return serveStale(cache, found, missing, e, loader);
+        }
+
+        found.putAll(loaded);
+        if (cache.invalidations.get() == stamp) {
+            missing.forEach(key -> cache.entries.put(key, remember(cache, key, loaded.containsKey(key)
+                    ? Entry.of(loaded.get(key)) : Entry.notFound())));
+        }
+        return found;
+    }
+
+    @Override
+    public void invalidate(String entity, Object key) {
+        EntityCache cache = caches.get(entity);
+        if (cache != null) {
+            cache.invalidations.incrementAndGet();
+            cache.entries.invalidate(key);
+            meterRegistry.counter("service.client.near.cache.invalidations", "entity", entity).increment();
+        }
+    }
+
+    @Override
+    public void invalidateAll(String entity) {
+        EntityCache cache = caches.get(entity);
+        if (cache != null) {
+            cache.invalidations.incrementAndGet();
+            cache.entries.invalidateAll();
+            meterRegistry.counter("service.client.near.cache.invalidations", "entity", entity).increment();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        caches.keySet().forEach(this::invalidateAll);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    // Ids the owner cannot be asked about right now are answered from their last-known-good copy and revalidated
+    // in the background. Ids never seen before stay absent; only when nothing at all can be answered does the
+    // failure reach the client's enrichment fallback.
+    @SuppressWarnings("unchecked")
+    private <T> Map<Long, T> serveStale(EntityCache cache, Map<Long, T> found, List<Long> missing,
+                                        DependencyUnavailableException failure,
+                                        Function<Collection<Long>, Map<Long, T>> loader) {
+        List<Object> known = new ArrayList<>();
+        for (Long key : missing) {
+            Entry entry = cache.lastKnownGood.getIfPresent(key);
+            if (entry != null) {
+                found.put(key, (T) entry.value());
+                serveStale(cache, entry);
+                known.add(key);
+            }
+        }
+        if (found.isEmpty()) {
+            throw failure;
+        }
+
+        if (!known.isEmpty()) {
+            refresh(cache, known, () -> reloadAll(known, loader));
+        }
+        return found;
+    }
+
+    private void serveStale(EntityCache cache, Entry known) {
+        long ageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - known.loadedAt());
+        cache.staleAge.record(ageMillis / 1000.0);
+        StaleDataTracker.markStale(ageMillis);
+    }
+
+    // Runs in the background, ahead of expiry for hot keys and to revalidate keys served stale, while the caller
+    // keeps the value it has. A fresh entry only replaces the one it was reloaded from, and only fills an empty
+    // slot if nothing was invalidated meanwhile, so an invalidation is never undone by an older reload.
+    private void refresh(EntityCache cache, List<Object> keys, Supplier<Map<Object, Entry>> reload) {
+        List<Object> claimed = keys.stream().filter(cache.refreshing::add).toList();
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        long stamp = cache.invalidations.get();
+        Map<Object, Entry> current = new HashMap<>();
+        claimed.forEach(key -> {
+            // asMap() reads leave the hit and miss statistics alone
+            Entry entry = cache.entries.asMap().get(key);
+            if (entry != null) {
+                current.put(key, entry);
+            }
+        });
+
+        try {
+            refreshExecutor.execute(() -> {
+                String outcome = "success";
+                try {
+                    reload.get().forEach((key, fresh) -> {
+                        if (!claimed.contains(key)) {
+                            return;
+                        }
+                        remember(cache, key, fresh);
+                        Entry previous = current.get(key);
+                        if (previous != null) {
+                            cache.entries.asMap().replace(key, previous, fresh);
+                        } else if (cache.invalidations.get() == stamp) {
+                            cache.entries.asMap().putIfAbsent(key, fresh);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // The current entry stays until it expires; the next hit tries again
+                    outcome = "error";
+                    log.debug("Near-cache refresh of {} {} failed: {}", cache.entity, claimed, e.getMessage());
+                } finally {
+                    claimed.forEach(cache.refreshing::remove);
+                    meterRegistry.counter("service.client.near.cache.refreshes", "entity", cache.entity,
+                            "outcome", outcome).increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            claimed.forEach(cache.refreshing::remove);
+            meterRegistry.counter("service.client.near.cache.refreshes", "entity", cache.entity,
+                    "outcome", "rejected").increment();
+        }
+    }
+
+    // Concurrent misses on the same key wait for one load instead of each calling downstream. The load runs outside
+    // any lock: Caffeine's own get(key, loader) would hold a ConcurrentHashMap bin for the whole remote call, retries
+    // and backoff included, blocking other keys in that bin and the invalidations for them. An invalidation during
+    // the load keeps its result out of the cache.
+    private <T> Entry loadOnce(EntityCache cache, Object key, Supplier<T> loader) {
+        CompletableFuture<Entry> loading = new CompletableFuture<>();
+        CompletableFuture<Entry> inFlight = cache.loading.putIfAbsent(key, loading);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException failure) {
+                    throw failure;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            Entry entry = cache.entries.asMap().get(key);
+            if (entry == null) {
+                long stamp = cache.invalidations.get();
+                entry = remember(cache, key, load(loader));
+                if (cache.invalidations.get() == stamp) {
+                    cache.entries.put(key, entry);
+                }
+            }
+            loading.complete(entry);
+            return entry;
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            cache.loading.remove(key, loading);
+        }
+    }
+
+    private static <T> Map<Object, Entry> reloadAll(List<Object> keys, Function<Collection<Long>, Map<Long, T>> loader) {
+        Map<Long, T> reloaded = loader.apply(keys.stream().map(Long.class::cast).toList());
+        Map<Object, Entry> entries = new HashMap<>();
+        keys.forEach(key -> entries.put(key, reloaded.containsKey(key) ? Entry.of(reloaded.get(key)) : Entry.notFound()));
+        return entries;
+    }
+
+    // A 404 means there is nothing left to fall back to
+    private static Entry remember(EntityCache cache, Object key, Entry entry) {
+        if (entry.found()) {
+            cache.lastKnownGood.put(key, entry);
+        } else {
+            cache.lastKnownGood.invalidate(key);
+        }
+        return entry;
+    }
+
+    private static <T> Entry load(Supplier<T> loader) {
+        try {
+            return Entry.of(loader.get());
+        } catch (HttpClientErrorException.NotFound e) {
+            return Entry.notFound();
+        }
+    }
+
+    private static final class EntityCache {
+        private final String entity;
+        private final long refreshAfterNanos;
+        private final Cache<Object, Entry> entries;
+        private final Cache<Object, Entry> lastKnownGood;
+        private final DistributionSummary staleAge;
+        private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+        private final Map<Object, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+        private final AtomicLong invalidations = new AtomicLong();
+
+        private EntityCache(String entity, NearCacheProperties.Settings settings, MeterRegistry meterRegistry) {
+            this.entity = entity;
+            this.refreshAfterNanos = TimeUnit.MILLISECONDS.toNanos(settings.getRefreshAfterMs());
+            long ttlNanos = TimeUnit.MILLISECONDS.toNanos(settings.getTimeToLiveMs());
+            long negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(settings.getNegativeTimeToLiveMs());
+            this.entries = Caffeine.newBuilder()
+                    .maximumSize(settings.getMaximumSize())
+                    .expireAfter(new Expiry<Object, Entry>() {
+                        @Override
+                        public long expireAfterCreate(Object key, Entry entry, long currentTime) {
+                            return entry.found() ? ttlNanos : negativeTtlNanos;
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(Object key, Entry entry, long currentTime, long currentDuration) {
+                            return expireAfterCreate(key, entry, currentTime);
+                        }
+
+                        @Override
+                        public long expireAfterRead(Object key, Entry entry, long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .recordStats()
+                    .build();
+            // Not touched by invalidations: a changed row is still better than none while its owner is down
+            this.lastKnownGood = Caffeine.newBuilder()
+                    .maximumSize(settings.getLastKnownGoodMaximumSize())
+                    .expireAfterWrite(Duration.ofMillis(settings.getLastKnownGoodRetentionMs()))
+                    .build();
+            this.staleAge = DistributionSummary.builder("service.client.stale.age")
+                    .description("Age of last-known-good entries served while the owning service was unavailable")
+                    .baseUnit("seconds")
+                    .tag("entity", entity)
+                    .register(meterRegistry);
+        }
+    }
+
+    private record Entry(Object value, boolean found, long loadedAt) {
+
+        static Entry of(Object value) {
+            return new Entry(value, true, System.nanoTime());
+        }
+
+        static Entry notFound() {
+            return new Entry(null, false, System.nanoTime());
+        }
+
+        // Only positive entries are refreshed ahead; a remembered 404 simply expires
+        boolean isStale(long refreshAfterNanos) {
+            return found && System.nanoTime() - loadedAt >= refreshAfterNanos;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T unwrap(String entity, Object key) {
+            if (!found) {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, entity + " " + key + " not found",
+                        HttpHeaders.EMPTY, new byte[0], null);
+            }
+            return (T) value;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.devops.serviceclient.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "service-client.near-cache")
+public class NearCacheProperties {
+
+    private boolean enabled = true;
+
+    private Settings defaults = Settings.withDefaults();
+
+    // Keyed by entity (user, product); unset values fall back to defaults
+    private Map<String, Settings> entities = new HashMap<>();
+
+    private Invalidation invalidation = new Invalidation();
+
+    public Settings forEntity(String entity) {
+        Settings overrides = entities.get(entity);
+        if (overrides == null) {
+            return defaults;
+        }
+
+        Settings resolved = new Settings();
+        resolved.setMaximumSize(overrides.getMaximumSize() != null ? overrides.getMaximumSize() : defaults.getMaximumSize());
+        resolved.setTimeToLiveMs(overrides.getTimeToLiveMs() != null ? overrides.getTimeToLiveMs() : defaults.getTimeToLiveMs());
+        resolved.setRefreshAfterMs(overrides.getRefreshAfterMs() != null ? overrides.getRefreshAfterMs() : defaults.getRefreshAfterMs());
+        resolved.setNegativeTimeToLiveMs(overrides.getNegativeTimeToLiveMs() != null
+                ? overrides.getNegativeTimeToLiveMs() : defaults.getNegativeTimeToLiveMs());
+        resolved.setLastKnownGoodMaximumSize(overrides.getLastKnownGoodMaximumSize() != null
+                ? overrides.getLastKnownGoodMaximumSize() : defaults.getLastKnownGoodMaximumSize());
+        resolved.setLastKnownGoodRetentionMs(overrides.getLastKnownGoodRetentionMs() != null
+                ? overrides.getLastKnownGoodRetentionMs() : defaults.getLastKnownGoodRetentionMs());
+        return resolved;
+    }
+
+    @Data
+    public static class Settings {
+        private Long maximumSize;
+        // Upper bound on staleness if a change notification is lost
+        private Long timeToLiveMs;
+        // A hit on an entry older than this reloads it in the background, so hot keys never expire under load
+        private Long refreshAfterMs;
+        // How long a 404 is remembered
+        private Long negativeTimeToLiveMs;
+        // Last-known-good copies served, flagged stale, while the owning service is unavailable; the retention
+        // is the oldest data a response may carry
+        private Long lastKnownGoodMaximumSize;
+        private Long lastKnownGoodRetentionMs;
+
+        static Settings withDefaults() {
+            Settings settings = new Settings();
+            settings.setMaximumSize(10000L);
+            settings.setTimeToLiveMs(300000L);
+            settings.setRefreshAfterMs(60000L);
+            settings.setNegativeTimeToLiveMs(30000L);
+            settings.setLastKnownGoodMaximumSize(50000L);
+            settings.setLastKnownGoodRetentionMs(86400000L);
+            return settings;
+        }
+    }
+
+    @Data
+    public static class Invalidation {
+        private boolean enabled = true;
+        private String channel = "entity_changes";
+        private int pollTimeoutMs = 10000;
+        private long reconnectDelayMs = 5000;
+    }
+}
\ No newline at end of file
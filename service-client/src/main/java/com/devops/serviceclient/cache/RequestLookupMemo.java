@@ -0,0 +1,87 @@
+package com.devops.serviceclient.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class RequestLookupMemo implements LookupCache {
+
+    private static final String ATTRIBUTE = RequestLookupMemo.class.getName() + ".MEMO";
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary savedPerRequest;
+
+    public RequestLookupMemo(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.savedPerRequest = DistributionSummary.builder("downstream.lookups.saved")
+                .description("Downstream lookups answered from the request memo, per request")
+                .register(meterRegistry);
+    }
+
+    // Outside of a web request (schedulers, async work) there is nothing to scope to, so the lookup goes straight through
+    @Override
+    public <T> T get(String entity, Object key, Supplier<T> loader) {
+        Memo memo = currentMemo();
+        if (memo == null) {
+            return loader.get();
+        }
+
+        String memoKey = entity + ":" + key;
+        Outcome outcome = memo.outcomes.get(memoKey);
+        if (outcome != null) {
+            memo.saved.incrementAndGet();
+            meterRegistry.counter("downstream.lookups", "entity", entity, "source", "memo").increment();
+            return outcome.get();
+        }
+
+        meterRegistry.counter("downstream.lookups", "entity", entity, "source", "remote").increment();
+        try {
+            T value = loader.get();
+            memo.outcomes.put(memoKey, new Outcome(value, null));
+            return value;
+        } catch (RuntimeException e) {
+            // Failures are remembered too, so a missing entity is reported the same way every time it is asked for
+            memo.outcomes.put(memoKey, new Outcome(null, e));
+            throw e;
+        }
+    }
+
+    private Memo currentMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        Memo memo = (Memo) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            Memo created = new Memo();
+            attributes.setAttribute(ATTRIBUTE, created, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(ATTRIBUTE,
+                    () -> savedPerRequest.record(created.saved.get()), RequestAttributes.SCOPE_REQUEST);
+            memo = created;
+        }
+        return memo;
+    }
+
+    private static final class Memo {
+        private final Map<String, Outcome> outcomes = new ConcurrentHashMap<>();
+        private final AtomicInteger saved = new AtomicInteger();
+    }
+
+    private record Outcome(Object value, RuntimeException failure) {
+
+        @SuppressWarnings("unchecked")
+        <T> T get() {
+            if (failure != null) {
+                throw failure;
+            }
+            return (T) value;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.devops.serviceclient.cache;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Remembers, for the current web request, the oldest last-known-good entry its response was built from
+public final class StaleDataTracker {
+
+    private static final String ATTRIBUTE = StaleDataTracker.class.getName() + ".MAX_AGE";
+
+    private StaleDataTracker() {
+    }
+
+    // Outside of a web request (schedulers, background refreshes) there is no response to flag
+    static void markStale(long ageMillis) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+
+        AtomicLong maxAge = (AtomicLong) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (maxAge == null) {
+            maxAge = new AtomicLong(ageMillis);
+            attributes.setAttribute(ATTRIBUTE, maxAge, RequestAttributes.SCOPE_REQUEST);
+        }
+        maxAge.accumulateAndGet(ageMillis, Math::max);
+    }
+
+    public static OptionalLong staleAgeMillis() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return OptionalLong.empty();
+        }
+
+        AtomicLong maxAge = (AtomicLong) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return maxAge != null ? OptionalLong.of(maxAge.get()) : OptionalLong.empty();
+    }
+}
\ No newline at end of file
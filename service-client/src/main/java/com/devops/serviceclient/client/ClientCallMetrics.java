@@ -0,0 +1,38 @@
+package com.devops.serviceclient.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.function.Supplier;
+
+public class ClientCallMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public ClientCallMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Wraps only the remote call, so cache hits never show up as suspiciously fast downstream calls
+    public <T> T record(String client, String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (HttpClientErrorException.NotFound e) {
+            outcome = "not_found";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("service.client.calls")
+                    .description("Calls made by the shared service clients, per downstream operation")
+                    .tag("client", client)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
\ No newline at end of file
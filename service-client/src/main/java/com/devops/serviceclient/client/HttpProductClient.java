@@ -0,0 +1,74 @@
+package com.devops.serviceclient.client;
+
+import com.devops.serviceclient.cache.LookupCache;
+import com.devops.serviceclient.dto.ProductResponseDto;
+import com.devops.serviceclient.resilience.DependencyGuard;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class HttpProductClient implements ProductClient {
+
+    private static final String CLIENT = "product-service";
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final int lookupBatchSize;
+    private final LookupCache lookupCache;
+    private final ClientCallMetrics metrics;
+    private final DependencyGuard guard;
+
+    public HttpProductClient(RestTemplate restTemplate, String baseUrl, int lookupBatchSize, LookupCache lookupCache,
+                             ClientCallMetrics metrics, DependencyGuard guard) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.lookupBatchSize = lookupBatchSize;
+        this.lookupCache = lookupCache;
+        this.metrics = metrics;
+        this.guard = guard;
+    }
+
+    @Override
+    public ProductResponseDto getProduct(Long productId) {
+        String url = baseUrl + "/api/products/" + productId;
+        return lookupCache.get("product", productId,
+                () -> remoteGet("getProduct", () -> restTemplate.getForObject(url, ProductResponseDto.class)));
+    }
+
+    @Override
+    public Map<Long, ProductResponseDto> getProducts(Collection<Long> productIds) {
+        return guard.enrichment(CLIENT, () -> lookupCache.getAll("product", productIds, this::fetchProducts), Map::of);
+    }
+
+    private Map<Long, ProductResponseDto> fetchProducts(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(productIds));
+
+        Map<Long, ProductResponseDto> products = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += lookupBatchSize) {
+            String url = baseUrl + "/api/products/batch?ids=" + ids.subList(from, Math.min(from + lookupBatchSize, ids.size()))
+                    .stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            ProductResponseDto[] batch = remoteGet("getProducts",
+                    () -> restTemplate.getForObject(url, ProductResponseDto[].class));
+            if (batch != null) {
+                for (ProductResponseDto product : batch) {
+                    products.put(product.getId(), product);
+                }
+            }
+        }
+        return products;
+    }
+
+    // Times the call and runs it through the product-service circuit breaker and bulkhead, retrying transient
+    // failures; every product-service lookup is a GET
+    private <T> T remoteGet(String operation, Supplier<T> call) {
+        return guard.callIdempotent(CLIENT, () -> metrics.record(CLIENT, operation, call));
+    }
+}
\ No newline at end of file
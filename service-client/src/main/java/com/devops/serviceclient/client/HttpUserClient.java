@@ -0,0 +1,140 @@
+package com.devops.serviceclient.client;
+
+import com.devops.serviceclient.cache.LookupCache;
+import com.devops.serviceclient.dto.AddressLookupKeyDto;
+import com.devops.serviceclient.dto.AddressResponseDto;
+import com.devops.serviceclient.dto.UserLookupRequestDto;
+import com.devops.serviceclient.dto.UserLookupResponseDto;
+import com.devops.serviceclient.dto.UserResponseDto;
+import com.devops.serviceclient.resilience.DependencyGuard;
+import com.devops.serviceclient.resilience.DependencyUnavailableException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class HttpUserClient implements UserClient {
+
+    private static final String CLIENT = "user-service";
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final int lookupBatchSize;
+    private final LookupCache lookupCache;
+    private final ClientCallMetrics metrics;
+    private final DependencyGuard guard;
+
+    public HttpUserClient(RestTemplate restTemplate, String baseUrl, int lookupBatchSize, LookupCache lookupCache,
+                          ClientCallMetrics metrics, DependencyGuard guard) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.lookupBatchSize = lookupBatchSize;
+        this.lookupCache = lookupCache;
+        this.metrics = metrics;
+        this.guard = guard;
+    }
+
+    @Override
+    public UserResponseDto getUser(Long userId) {
+        String url = baseUrl + "/api/users/" + userId;
+        return lookupCache.get("user", userId,
+                () -> remoteGet("getUser", () -> restTemplate.getForObject(url, UserResponseDto.class)));
+    }
+
+    // HEAD against user-service's id bitmap: no entity load, mapping or body on either side
+    @Override
+    public boolean userExists(Long userId) {
+        String url = baseUrl + "/api/users/" + userId + "/active";
+        return lookupCache.get("user-exists", userId, () -> remoteGet("userExists", () -> {
+            try {
+                restTemplate.headForHeaders(url);
+                return true;
+            } catch (HttpClientErrorException.NotFound e) {
+                return false;
+            }
+        }));
+    }
+
+    @Override
+    public Map<Long, UserResponseDto> getUsers(Collection<Long> userIds) {
+        return guard.enrichment(CLIENT, () -> lookupCache.getAll("user", userIds, ids -> {
+            Map<Long, UserResponseDto> users = new HashMap<>();
+            fetchUsersAndAddresses(ids, List.of()).getUsers().forEach(user -> users.put(user.getId(), user));
+            return users;
+        }), Map::of);
+    }
+
+    @Override
+    public AddressResponseDto getAddress(Long userId, Long addressId) {
+        String url = baseUrl + "/api/users/" + userId + "/addresses/" + addressId;
+        return lookupCache.get("address", userId + "/" + addressId,
+                () -> remoteGet("getAddress", () -> restTemplate.getForObject(url, AddressResponseDto.class)));
+    }
+
+    @Override
+    public AddressResponseDto getDefaultAddress(Long userId) {
+        String url = baseUrl + "/api/users/" + userId + "/addresses/default";
+        return lookupCache.get("default-address", userId,
+                () -> remoteGet("getDefaultAddress", () -> restTemplate.getForObject(url, AddressResponseDto.class)));
+    }
+
+    // One POST per batch of ids instead of a getUser/getAddress pair per row; ids that do not resolve are absent
+    @Override
+    public UserLookupResponseDto lookupUsersAndAddresses(Collection<Long> userIds, Collection<AddressLookupKeyDto> addresses) {
+        return guard.enrichment(CLIENT, () -> {
+            try {
+                return fetchUsersAndAddresses(userIds, addresses);
+            } catch (DependencyUnavailableException e) {
+                return knownUsers(userIds, e);
+            }
+        }, UserLookupResponseDto::new);
+    }
+
+    // Addresses are not cached, but users the lookup cache still holds, fresh or last-known-good, keep their
+    // rows labelled; the failure stands when it holds none of them
+    private UserLookupResponseDto knownUsers(Collection<Long> userIds, DependencyUnavailableException failure) {
+        Map<Long, UserResponseDto> users = lookupCache.getAll("user", userIds, ids -> {
+            throw failure;
+        });
+        UserLookupResponseDto known = new UserLookupResponseDto();
+        known.getUsers().addAll(users.values());
+        return known;
+    }
+
+    private UserLookupResponseDto fetchUsersAndAddresses(Collection<Long> userIds, Collection<AddressLookupKeyDto> addresses) {
+        String url = baseUrl + "/api/users/batch";
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(userIds));
+        List<AddressLookupKeyDto> keys = List.copyOf(new LinkedHashSet<>(addresses));
+
+        UserLookupResponseDto result = new UserLookupResponseDto();
+        for (int from = 0; from < Math.max(ids.size(), keys.size()); from += lookupBatchSize) {
+            UserLookupRequestDto request = new UserLookupRequestDto(slice(ids, from), slice(keys, from));
+            UserLookupResponseDto batch = remote("lookupUsersAndAddresses",
+                    () -> restTemplate.postForObject(url, request, UserLookupResponseDto.class));
+            if (batch != null) {
+                result.getUsers().addAll(batch.getUsers());
+                result.getAddresses().addAll(batch.getAddresses());
+            }
+        }
+        return result;
+    }
+
+    // Times the call and runs it through the user-service circuit breaker and bulkhead
+    private <T> T remote(String operation, Supplier<T> call) {
+        return guard.call(CLIENT, () -> metrics.record(CLIENT, operation, call));
+    }
+
+    // The same for GET and HEAD, which may also be retried; the batch lookup is a POST and is not
+    private <T> T remoteGet(String operation, Supplier<T> call) {
+        return guard.callIdempotent(CLIENT, () -> metrics.record(CLIENT, operation, call));
+    }
+
+    private <T> List<T> slice(List<T> values, int from) {
+        return values.subList(Math.min(from, values.size()), Math.min(from + lookupBatchSize, values.size()));
+    }
+}
\ No newline at end of file
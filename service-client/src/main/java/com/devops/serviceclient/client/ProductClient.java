@@ -0,0 +1,16 @@
+package com.devops.serviceclient.client;
+
+import com.devops.serviceclient.dto.ProductResponseDto;
+
+import java.util.Collection;
+import java.util.Map;
+
+// A single lookup of a missing product throws HttpClientErrorException.NotFound, a bulk lookup leaves it out.
+// While product-service is unavailable a single lookup throws DependencyUnavailableException; a bulk lookup
+// only enriches responses and answers with the configured fallback (empty by default).
+public interface ProductClient {
+
+    ProductResponseDto getProduct(Long productId);
+
+    Map<Long, ProductResponseDto> getProducts(Collection<Long> productIds);
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.devops.serviceclient.client;
+
+import com.devops.serviceclient.dto.AddressLookupKeyDto;
+import com.devops.serviceclient.dto.AddressResponseDto;
+import com.devops.serviceclient.dto.UserLookupResponseDto;
+import com.devops.serviceclient.dto.UserResponseDto;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Single lookups of a missing user or address throw HttpClientErrorException.NotFound, bulk lookups leave it out.
+// While user-service is unavailable single lookups throw DependencyUnavailableException; bulk lookups only
+// enrich responses and answer with the configured fallback (empty by default).
+public interface UserClient {
+
+    UserResponseDto getUser(Long userId);
+
+    boolean userExists(Long userId);
+
+    Map<Long, UserResponseDto> getUsers(Collection<Long> userIds);
+
+    AddressResponseDto getAddress(Long userId, Long addressId);
+
+    AddressResponseDto getDefaultAddress(Long userId);
+
+    UserLookupResponseDto lookupUsersAndAddresses(Collection<Long> userIds, Collection<AddressLookupKeyDto> addresses);
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.devops.serviceclient.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "http-client")
+public class HttpClientProperties {
+
+    private Settings defaults = Settings.withDefaults();
+
+    // Keyed by downstream name (user-service, product-service, ...); unset values fall back to defaults
+    private Map<String, Settings> services = new HashMap<>();
+
+    public Settings forService(String service) {
+        Settings overrides = services.get(service);
+        if (overrides == null) {
+            return defaults;
+        }
+
+        Settings resolved = new Settings();
+        resolved.setConnectTimeoutMs(overrides.getConnectTimeoutMs() != null ? overrides.getConnectTimeoutMs() : defaults.getConnectTimeoutMs());
+        resolved.setReadTimeoutMs(overrides.getReadTimeoutMs() != null ? overrides.getReadTimeoutMs() : defaults.getReadTimeoutMs());
+        resolved.setConnectionRequestTimeoutMs(overrides.getConnectionRequestTimeoutMs() != null
+                ? overrides.getConnectionRequestTimeoutMs() : defaults.getConnectionRequestTimeoutMs());
+        resolved.setMaxConnections(overrides.getMaxConnections() != null ? overrides.getMaxConnections() : defaults.getMaxConnections());
+        resolved.setIdleEvictionMs(overrides.getIdleEvictionMs() != null ? overrides.getIdleEvictionMs() : defaults.getIdleEvictionMs());
+        resolved.setTimeToLiveMs(overrides.getTimeToLiveMs() != null ? overrides.getTimeToLiveMs() : defaults.getTimeToLiveMs());
+        return resolved;
+    }
+
+    @Data
+    public static class Settings {
+        private Long connectTimeoutMs;
+        private Long readTimeoutMs;
+        // How long a request may wait for a free pooled connection before failing fast
+        private Long connectionRequestTimeoutMs;
+        // Each downstream is a single host, so this is the per-host connection limit
+        private Integer maxConnections;
+        private Long idleEvictionMs;
+        private Long timeToLiveMs;
+
+        static Settings withDefaults() {
+            Settings settings = new Settings();
+            settings.setConnectTimeoutMs(1000L);
+            settings.setReadTimeoutMs(3000L);
+            settings.setConnectionRequestTimeoutMs(500L);
+            settings.setMaxConnections(50);
+            settings.setIdleEvictionMs(30000L);
+            settings.setTimeToLiveMs(300000L);
+            return settings;
+        }
+    }
+}
\ No newline at end of file
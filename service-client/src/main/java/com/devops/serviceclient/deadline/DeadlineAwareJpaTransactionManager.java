@@ -0,0 +1,27 @@
+package com.devops.serviceclient.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+// Caps every transaction at the request's remaining budget. Spring turns the transaction timeout into a query
+// timeout on each statement, so Postgres cancels a query the caller has stopped waiting for.
+public class DeadlineAwareJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return timeout;
+        }
+
+        long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0) {
+            throw new TransactionTimedOutException("Request deadline passed before the transaction started");
+        }
+        // Transaction timeouts are whole seconds; rounding up never cuts a query off before the deadline
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.devops.serviceclient.deadline;
+
+import com.devops.serviceclient.resilience.DependencyUnavailableException;
+
+// The request's budget ran out before or while calling a dependency. Enrichment lookups treat it like an outage
+// and fall back; anywhere else it becomes a 504, since retrying with the same budget cannot succeed either.
+public class DeadlineExceededException extends DependencyUnavailableException {
+
+    public DeadlineExceededException(String dependency, Throwable cause) {
+        super(dependency, "request deadline exceeded", 0, cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.devops.serviceclient.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Starts the clock on the budget the caller sent. A request that arrives with none left is answered 504 at once
+// instead of doing work whose result nobody is waiting for.
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public DeadlineFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long budgetMillis;
+        try {
+            budgetMillis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed {} header {}", RequestDeadline.HEADER, header);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (budgetMillis <= 0) {
+            meterRegistry.counter("http.server.requests.deadline.rejected").increment();
+            response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Request deadline already passed");
+            return;
+        }
+        RequestDeadline.bind(request, RequestDeadline.after(budgetMillis));
+        filterChain.doFilter(request, response);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.devops.serviceclient.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+// Hands the time left on to the next service, and skips the call altogether once there is none. A call cut short
+// by the budget is reported as DeadlineExceededException so the dependency's circuit breaker does not count it.
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String service;
+    private final MeterRegistry meterRegistry;
+
+    public DeadlineInterceptor(String service, MeterRegistry meterRegistry) {
+        this.service = service;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return execution.execute(request, body);
+        }
+
+        long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0) {
+            exceeded("before_call");
+            throw new DeadlineExceededException(service, null);
+        }
+
+        request.getHeaders().set(RequestDeadline.HEADER, String.valueOf(remainingMillis));
+        try {
+            return execution.execute(request, body);
+        } catch (IOException e) {
+            if (deadline.isExpired()) {
+                exceeded("during_call");
+                throw new DeadlineExceededException(service, e);
+            }
+            throw e;
+        }
+    }
+
+    private void exceeded(String stage) {
+        meterRegistry.counter("service.client.deadline.exceeded", "client", service, "stage", stage).increment();
+    }
+}
\ No newline at end of file
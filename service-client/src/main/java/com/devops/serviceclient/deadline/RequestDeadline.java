@@ -0,0 +1,56 @@
+package com.devops.serviceclient.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// The point by which the caller, ultimately the gateway, stops waiting for the current request. Travels between
+// services as the milliseconds left rather than a wall-clock time, so clock skew between hosts does not matter.
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Budget-Ms";
+
+    private static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private final long expiresAtNanos;
+
+    private RequestDeadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    static RequestDeadline after(long budgetMillis) {
+        return new RequestDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+    }
+
+    // Outside of a web request (schedulers, background refreshes), or when the caller sent no budget, there is none
+    public static RequestDeadline current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (RequestDeadline) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    static void bind(HttpServletRequest request, RequestDeadline deadline) {
+        request.setAttribute(ATTRIBUTE, deadline);
+    }
+
+    // For responses that stream for as long as the client keeps reading (exports, long JSON arrays): the budget
+    // is meant for a reply, not for a download, so the rest of the request runs without one
+    public static void clear() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return remainingMillis() <= 0;
+    }
+}
\ No newline at end of file
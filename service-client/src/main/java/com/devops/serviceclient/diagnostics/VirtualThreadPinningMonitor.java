@@ -0,0 +1,76 @@
+package com.devops.serviceclient.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+// Streams the JDK's own jdk.VirtualThreadPinned events: a virtual thread that blocks inside a synchronized block
+// or native frame keeps its carrier thread, and enough of them at once stall every other request. Each one is
+// timed, and logged with the application frame that held the monitor.
+@Slf4j
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Timer pinned;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (log.isWarnEnabled()) {
+            log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), applicationFrame(event));
+        }
+    }
+
+    // The JDK and library frames on top say how it blocked; the first of our own says where
+    private static String applicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown frame";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith("com.devops."))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .orElse("unknown frame");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.devops.serviceclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddressLookupKeyDto {
+    private Long userId;
+    private Long addressId;
+}
\ No newline at end of file
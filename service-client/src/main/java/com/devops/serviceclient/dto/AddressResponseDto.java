@@ -1,11 +1,11 @@
-package com.devops.orderservice.model.dto.response;
+package com.devops.serviceclient.dto;
 
-import com.devops.orderservice.model.enums.AddressType;
 import lombok.Data;
 
 @Data
 public class AddressResponseDto {
     private Long id;
+    private Long userId;
     private AddressType type;
     private String firstName;
     private String lastName;
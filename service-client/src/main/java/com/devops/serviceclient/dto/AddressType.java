@@ -1,7 +1,7 @@
-package com.devops.orderservice.model.enums;
+package com.devops.serviceclient.dto;
 
 public enum AddressType {
     BILLING,
     SHIPPING,
     BOTH
-}
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.devops.serviceclient.dto;
+
+import lombok.Data;
+
+@Data
+public class CategoryResponseDto {
+    private Long id;
+    private String name;
+}
\ No newline at end of file
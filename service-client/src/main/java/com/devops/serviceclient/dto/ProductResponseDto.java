@@ -1,6 +1,7 @@
-package com.devops.cartservice.model.dto.response;
+package com.devops.serviceclient.dto;
 
 import lombok.Data;
+
 import java.math.BigDecimal;
 
 @Data
@@ -11,4 +12,5 @@ public class ProductResponseDto {
     private BigDecimal price;
     private Integer stockQuantity;
     private Boolean active;
+    private CategoryResponseDto category;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.devops.serviceclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupRequestDto {
+    private List<Long> userIds;
+    private List<AddressLookupKeyDto> addresses;
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.devops.serviceclient.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class UserLookupResponseDto {
+    private List<UserResponseDto> users = new ArrayList<>();
+    private List<AddressResponseDto> addresses = new ArrayList<>();
+}
\ No newline at end of file
@@ -1,4 +1,4 @@
-package com.devops.cartservice.model.dto.response;
+package com.devops.serviceclient.dto;
 
 import lombok.Data;
 
@@ -0,0 +1,185 @@
+package com.devops.serviceclient.resilience;
+
+import com.devops.serviceclient.deadline.DeadlineExceededException;
+import com.devops.serviceclient.deadline.RequestDeadline;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// One circuit breaker and one semaphore bulkhead per downstream. Once a dependency is failing or saturated,
+// calls to it are refused in microseconds instead of holding a request thread until the read timeout.
+@Slf4j
+public class DependencyGuard {
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+    private final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
+
+    public DependencyGuard(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        circuitBreakers.getEventPublisher().onEntryAdded(added -> added.getAddedEntry().getEventPublisher()
+                .onStateTransition(event -> {
+                    log.warn("Circuit breaker for {} went {}", event.getCircuitBreakerName(), event.getStateTransition());
+                    meterRegistry.counter("service.client.circuit.transitions",
+                            "client", event.getCircuitBreakerName(),
+                            "from", event.getStateTransition().getFromState().name().toLowerCase(Locale.ROOT),
+                            "to", event.getStateTransition().getToState().name().toLowerCase(Locale.ROOT)).increment();
+                }));
+    }
+
+    // The bulkhead sits outside the breaker, so a burst it turns away is not counted as the dependency failing
+    public <T> T call(String dependency, Supplier<T> call) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(dependency, () -> circuitBreakerConfig(dependency));
+        Bulkhead bulkhead = bulkheads.bulkhead(dependency, () -> bulkheadConfig(dependency));
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+        } catch (CallNotPermittedException e) {
+            rejected(dependency, "circuit_open");
+            long waitSeconds = Math.max(1, Duration.ofMillis(properties.forService(dependency).getWaitInOpenStateMs()).toSeconds());
+            throw new DependencyUnavailableException(dependency, "circuit breaker is open", waitSeconds, e);
+        } catch (BulkheadFullException e) {
+            rejected(dependency, "bulkhead_full");
+            throw new DependencyUnavailableException(dependency, "too many concurrent calls", 1, e);
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (RestClientException e) {
+            throw new DependencyUnavailableException(dependency, e.getMessage(), 1, e);
+        }
+    }
+
+    // For GET and HEAD lookups only, which are safe to repeat. An I/O error or a 502/503/504 is tried again after
+    // a full-jitter backoff while the dependency's retry budget and the request's deadline allow; an open circuit,
+    // a full bulkhead or a 4xx answer ends it at once.
+    public <T> T callIdempotent(String dependency, Supplier<T> call) {
+        ResilienceProperties.Settings settings = properties.forService(dependency);
+        RetryBudget budget = retryBudgets.computeIfAbsent(dependency, name -> retryBudget(name, settings));
+        budget.deposit();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call(dependency, call);
+            } catch (DependencyUnavailableException e) {
+                if (!isTransient(e) || attempt >= settings.getMaxAttempts()) {
+                    throw e;
+                }
+
+                long backoffMs = backoffMs(settings, attempt);
+                RequestDeadline deadline = RequestDeadline.current();
+                if (deadline != null && deadline.remainingMillis() <= backoffMs) {
+                    retry(dependency, "deadline");
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    retry(dependency, "budget_exhausted");
+                    throw e;
+                }
+                retry(dependency, "attempted");
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // For lookups that only add detail to a response: while the dependency is unavailable the configured
+    // fallback either answers instead or lets the 503 through
+    public <T> T enrichment(String dependency, Supplier<T> lookup, Supplier<T> fallback) {
+        try {
+            return lookup.get();
+        } catch (DependencyUnavailableException e) {
+            if (properties.forService(dependency).getEnrichmentFallback() == ResilienceProperties.EnrichmentFallback.FAIL) {
+                throw e;
+            }
+            meterRegistry.counter("service.client.fallbacks", "client", dependency).increment();
+            return fallback.get();
+        }
+    }
+
+    // Only failures of the call itself; refusals by the breaker or bulkhead and a spent deadline would fail again
+    private static boolean isTransient(DependencyUnavailableException e) {
+        if (e instanceof DeadlineExceededException) {
+            return false;
+        }
+        if (e.getCause() instanceof HttpServerErrorException serverError) {
+            int status = serverError.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return e.getCause() instanceof ResourceAccessException;
+    }
+
+    private static long backoffMs(ResilienceProperties.Settings settings, int attempt) {
+        long ceilingMs = Math.min(settings.getMaxBackoffMs(), settings.getInitialBackoffMs() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceilingMs + 1);
+    }
+
+    private RetryBudget retryBudget(String dependency, ResilienceProperties.Settings settings) {
+        RetryBudget budget = new RetryBudget(settings.getRetryRatio(), settings.getRetryBudgetMaxTokens());
+        Gauge.builder("service.client.retry.budget.tokens", budget, RetryBudget::tokens)
+                .description("Retries the dependency's retry budget would still allow right now")
+                .tag("client", dependency)
+                .register(meterRegistry);
+        return budget;
+    }
+
+    private void retry(String dependency, String outcome) {
+        meterRegistry.counter("service.client.retries", "client", dependency, "outcome", outcome).increment();
+    }
+
+    private void rejected(String dependency, String reason) {
+        meterRegistry.counter("service.client.rejected", "client", dependency, "reason", reason).increment();
+    }
+
+    private CircuitBreakerConfig circuitBreakerConfig(String dependency) {
+        ResilienceProperties.Settings settings = properties.forService(dependency);
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(settings.getSlowCallDurationThresholdMs()))
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .waitDurationInOpenState(Duration.ofMillis(settings.getWaitInOpenStateMs()))
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                // A 404 or 400 is a healthy dependency answering, and a call cut short by the caller's own deadline
+                // says nothing about it either; only errors, 5xx and timeouts count
+                .ignoreExceptions(HttpClientErrorException.class, DeadlineExceededException.class)
+                .build();
+    }
+
+    private BulkheadConfig bulkheadConfig(String dependency) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.forService(dependency).getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+    }
+}
\ No newline at end of file
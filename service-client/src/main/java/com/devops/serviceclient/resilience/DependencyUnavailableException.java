@@ -0,0 +1,18 @@
+package com.devops.serviceclient.resilience;
+
+import lombok.Getter;
+
+// A downstream call that failed, timed out or was refused by its circuit breaker or bulkhead. A 4xx answer
+// from the dependency is not this: the call worked and the caller gets the HttpClientErrorException.
+@Getter
+public class DependencyUnavailableException extends RuntimeException {
+
+    private final String dependency;
+    private final long retryAfterSeconds;
+
+    public DependencyUnavailableException(String dependency, String reason, long retryAfterSeconds, Throwable cause) {
+        super(dependency + " is unavailable: " + reason, cause);
+        this.dependency = dependency;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
\ No newline at end of file
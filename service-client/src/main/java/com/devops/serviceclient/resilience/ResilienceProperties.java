@@ -0,0 +1,101 @@
+package com.devops.serviceclient.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "service-client.resilience")
+public class ResilienceProperties {
+
+    private Settings defaults = Settings.withDefaults();
+
+    // Keyed by downstream name (user-service, product-service, ...); unset values fall back to defaults
+    private Map<String, Settings> services = new HashMap<>();
+
+    public Settings forService(String service) {
+        Settings overrides = services.get(service);
+        if (overrides == null) {
+            return defaults;
+        }
+
+        Settings resolved = new Settings();
+        resolved.setSlidingWindowSize(overrides.getSlidingWindowSize() != null ? overrides.getSlidingWindowSize() : defaults.getSlidingWindowSize());
+        resolved.setMinimumNumberOfCalls(overrides.getMinimumNumberOfCalls() != null
+                ? overrides.getMinimumNumberOfCalls() : defaults.getMinimumNumberOfCalls());
+        resolved.setFailureRateThreshold(overrides.getFailureRateThreshold() != null
+                ? overrides.getFailureRateThreshold() : defaults.getFailureRateThreshold());
+        resolved.setSlowCallDurationThresholdMs(overrides.getSlowCallDurationThresholdMs() != null
+                ? overrides.getSlowCallDurationThresholdMs() : defaults.getSlowCallDurationThresholdMs());
+        resolved.setSlowCallRateThreshold(overrides.getSlowCallRateThreshold() != null
+                ? overrides.getSlowCallRateThreshold() : defaults.getSlowCallRateThreshold());
+        resolved.setWaitInOpenStateMs(overrides.getWaitInOpenStateMs() != null ? overrides.getWaitInOpenStateMs() : defaults.getWaitInOpenStateMs());
+        resolved.setPermittedCallsInHalfOpenState(overrides.getPermittedCallsInHalfOpenState() != null
+                ? overrides.getPermittedCallsInHalfOpenState() : defaults.getPermittedCallsInHalfOpenState());
+        resolved.setMaxConcurrentCalls(overrides.getMaxConcurrentCalls() != null
+                ? overrides.getMaxConcurrentCalls() : defaults.getMaxConcurrentCalls());
+        resolved.setEnrichmentFallback(overrides.getEnrichmentFallback() != null
+                ? overrides.getEnrichmentFallback() : defaults.getEnrichmentFallback());
+        resolved.setMaxAttempts(overrides.getMaxAttempts() != null ? overrides.getMaxAttempts() : defaults.getMaxAttempts());
+        resolved.setInitialBackoffMs(overrides.getInitialBackoffMs() != null ? overrides.getInitialBackoffMs() : defaults.getInitialBackoffMs());
+        resolved.setMaxBackoffMs(overrides.getMaxBackoffMs() != null ? overrides.getMaxBackoffMs() : defaults.getMaxBackoffMs());
+        resolved.setRetryRatio(overrides.getRetryRatio() != null ? overrides.getRetryRatio() : defaults.getRetryRatio());
+        resolved.setRetryBudgetMaxTokens(overrides.getRetryBudgetMaxTokens() != null
+                ? overrides.getRetryBudgetMaxTokens() : defaults.getRetryBudgetMaxTokens());
+        return resolved;
+    }
+
+    @Data
+    public static class Settings {
+        // Circuit breaker: the last slidingWindowSize calls decide, once at least minimumNumberOfCalls were made
+        private Integer slidingWindowSize;
+        private Integer minimumNumberOfCalls;
+        private Float failureRateThreshold;
+        // Calls slower than this count against the breaker even when they succeed; the read timeout of the
+        // pooled client stays the hard limit on a single call
+        private Long slowCallDurationThresholdMs;
+        private Float slowCallRateThreshold;
+        private Long waitInOpenStateMs;
+        private Integer permittedCallsInHalfOpenState;
+        // Bulkhead: calls beyond this are rejected at once instead of queueing for a pooled connection
+        private Integer maxConcurrentCalls;
+        // What bulk enrichment lookups return while the dependency is unavailable
+        private EnrichmentFallback enrichmentFallback;
+        // Retries of GET/HEAD lookups after an I/O error or a 502/503/504: attempts include the first call, and
+        // each wait is drawn at random up to initialBackoffMs doubled per attempt, capped at maxBackoffMs
+        private Integer maxAttempts;
+        private Long initialBackoffMs;
+        private Long maxBackoffMs;
+        // Retry budget: retries may add at most this share of calls, after a burst of retryBudgetMaxTokens
+        private Double retryRatio;
+        private Integer retryBudgetMaxTokens;
+
+        static Settings withDefaults() {
+            Settings settings = new Settings();
+            settings.setSlidingWindowSize(50);
+            settings.setMinimumNumberOfCalls(20);
+            settings.setFailureRateThreshold(50f);
+            settings.setSlowCallDurationThresholdMs(1500L);
+            settings.setSlowCallRateThreshold(80f);
+            settings.setWaitInOpenStateMs(10000L);
+            settings.setPermittedCallsInHalfOpenState(5);
+            settings.setMaxConcurrentCalls(40);
+            settings.setEnrichmentFallback(EnrichmentFallback.EMPTY);
+            settings.setMaxAttempts(3);
+            settings.setInitialBackoffMs(50L);
+            settings.setMaxBackoffMs(500L);
+            settings.setRetryRatio(0.1);
+            settings.setRetryBudgetMaxTokens(10);
+            return settings;
+        }
+    }
+
+    public enum EnrichmentFallback {
+        // Responses are listed without the details the dependency would have added
+        EMPTY,
+        // The request fails with 503
+        FAIL
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.devops.serviceclient.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket shared by every call to one dependency: each call earns retryRatio of a token and each retry
+// spends a whole one. However many calls fail, retries stay near retryRatio of the traffic, plus a burst of at
+// most maxTokens saved up while the dependency was healthy.
+class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositMilliTokens;
+    private final long maxMilliTokens;
+    private final AtomicLong milliTokens;
+
+    RetryBudget(double retryRatio, int maxTokens) {
+        this.depositMilliTokens = Math.round(retryRatio * SCALE);
+        this.maxMilliTokens = maxTokens * SCALE;
+        this.milliTokens = new AtomicLong(maxMilliTokens);
+    }
+
+    void deposit() {
+        milliTokens.accumulateAndGet(depositMilliTokens, (current, deposit) -> Math.min(maxMilliTokens, current + deposit));
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            long current = milliTokens.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (milliTokens.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    double tokens() {
+        return milliTokens.get() / (double) SCALE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.devops.serviceclient.stub;
+
+import com.devops.serviceclient.client.ProductClient;
+import com.devops.serviceclient.dto.ProductResponseDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory ProductClient for tests and local runs without product-service; seed it with putProduct
+public class StubProductClient implements ProductClient {
+
+    private final Map<Long, ProductResponseDto> products = new ConcurrentHashMap<>();
+
+    public void putProduct(ProductResponseDto product) {
+        products.put(product.getId(), product);
+    }
+
+    public void clear() {
+        products.clear();
+    }
+
+    @Override
+    public ProductResponseDto getProduct(Long productId) {
+        ProductResponseDto product = products.get(productId);
+        if (product == null) {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Product " + productId + " not found",
+                    HttpHeaders.EMPTY, new byte[0], null);
+        }
+        return product;
+    }
+
+    @Override
+    public Map<Long, ProductResponseDto> getProducts(Collection<Long> productIds) {
+        Map<Long, ProductResponseDto> found = new HashMap<>();
+        productIds.stream()
+                .filter(products::containsKey)
+                .forEach(productId -> found.put(productId, products.get(productId)));
+        return found;
+    }
+}
\ No newline at end of file
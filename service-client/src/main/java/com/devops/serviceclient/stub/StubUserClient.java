@@ -0,0 +1,92 @@
+package com.devops.serviceclient.stub;
+
+import com.devops.serviceclient.client.UserClient;
+import com.devops.serviceclient.dto.AddressLookupKeyDto;
+import com.devops.serviceclient.dto.AddressResponseDto;
+import com.devops.serviceclient.dto.UserLookupResponseDto;
+import com.devops.serviceclient.dto.UserResponseDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory UserClient for tests and local runs without user-service; seed it with putUser/putAddress
+public class StubUserClient implements UserClient {
+
+    private final Map<Long, UserResponseDto> users = new ConcurrentHashMap<>();
+    private final Map<Long, AddressResponseDto> addresses = new ConcurrentHashMap<>();
+
+    public void putUser(UserResponseDto user) {
+        users.put(user.getId(), user);
+    }
+
+    public void putAddress(AddressResponseDto address) {
+        addresses.put(address.getId(), address);
+    }
+
+    public void clear() {
+        users.clear();
+        addresses.clear();
+    }
+
+    @Override
+    public UserResponseDto getUser(Long userId) {
+        UserResponseDto user = users.get(userId);
+        if (user == null) {
+            throw notFound("User " + userId);
+        }
+        return user;
+    }
+
+    @Override
+    public boolean userExists(Long userId) {
+        return users.containsKey(userId);
+    }
+
+    @Override
+    public Map<Long, UserResponseDto> getUsers(Collection<Long> userIds) {
+        Map<Long, UserResponseDto> found = new HashMap<>();
+        userIds.stream()
+                .filter(users::containsKey)
+                .forEach(userId -> found.put(userId, users.get(userId)));
+        return found;
+    }
+
+    @Override
+    public AddressResponseDto getAddress(Long userId, Long addressId) {
+        AddressResponseDto address = addresses.get(addressId);
+        if (address == null || !Objects.equals(address.getUserId(), userId)) {
+            throw notFound("Address " + addressId);
+        }
+        return address;
+    }
+
+    @Override
+    public AddressResponseDto getDefaultAddress(Long userId) {
+        return addresses.values().stream()
+                .filter(address -> Objects.equals(address.getUserId(), userId) && Boolean.TRUE.equals(address.getIsDefault()))
+                .findFirst()
+                .orElseThrow(() -> notFound("Default address for user " + userId));
+    }
+
+    @Override
+    public UserLookupResponseDto lookupUsersAndAddresses(Collection<Long> userIds, Collection<AddressLookupKeyDto> keys) {
+        UserLookupResponseDto result = new UserLookupResponseDto();
+        result.getUsers().addAll(getUsers(userIds).values());
+        keys.stream()
+                .map(key -> addresses.get(key.getAddressId()))
+                .filter(address -> address != null && keys.contains(new AddressLookupKeyDto(address.getUserId(), address.getId())))
+                .distinct()
+                .forEach(result.getAddresses()::add);
+        return result;
+    }
+
+    private static HttpClientErrorException notFound(String what) {
+        return HttpClientErrorException.create(HttpStatus.NOT_FOUND, what + " not found", HttpHeaders.EMPTY, new byte[0], null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.devops.serviceclient.web;
+
+import com.devops.serviceclient.cache.StaleDataTracker;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+// Tells the caller a response carries user or product details served from the last-known-good copy, and how old
+// the oldest of them is, so it can decide whether to show or retry it
+@RestControllerAdvice
+public class StaleDataResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_HEADER = "X-Data-Stale";
+    public static final String STALE_AGE_HEADER = "X-Data-Stale-Age";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        StaleDataTracker.staleAgeMillis().ifPresent(ageMillis -> {
+            response.getHeaders().set(STALE_HEADER, "true");
+            response.getHeaders().set(STALE_AGE_HEADER, String.valueOf(TimeUnit.MILLISECONDS.toSeconds(ageMillis)));
+        });
+        return body;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.devops.userservice.cache;
+
+import com.devops.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class ActiveUserRegistry {
+
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Counter bitmapHits;
+    private final Counter databaseChecks;
+
+    // One bit per user id; ids are dense identity values, so the set stays small (about 125 KB per million users)
+    private BitSet activeIds = new BitSet();
+    private volatile boolean loaded;
+
+    // Guarded by the write lock: the latest state of every id set while a reload reads its snapshot, applied to
+    // the reloaded bitmap before the swap so those changes are not thrown away with the old one
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private Map<Integer, Boolean> changesDuringReload;
+
+    public ActiveUserRegistry(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.bitmapHits = meterRegistry.counter("users.registry.lookups", "source", "bitmap");
+        this.databaseChecks = meterRegistry.counter("users.registry.lookups", "source", "database");
+        Gauge.builder("users.registry.size", this, ActiveUserRegistry::size)
+                .description("Active user ids held in the existence bitmap")
+                .register(meterRegistry);
+    }
+
+    // A set bit is trusted; a clear bit is confirmed against the database, which covers users created by
+    // another instance since the last reload and keeps a not-yet-loaded registry correct
+    public boolean isActive(Long userId) {
+        if (loaded && userId >= 0 && userId <= Integer.MAX_VALUE) {
+            lock.readLock().lock();
+            try {
+                if (activeIds.get(userId.intValue())) {
+                    bitmapHits.increment();
+                    return true;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        databaseChecks.increment();
+        boolean active = userRepository.existsByIdAndActiveTrue(userId);
+        if (active) {
+            set(userId, true);
+        }
+        return active;
+    }
+
+    // Batch form of isActive: the clear bits are confirmed together in one query rather than one query per id
+    public Set<Long> filterActive(Collection<Long> userIds) {
+        Set<Long> active = new HashSet<>();
+        List<Long> misses = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long userId : userIds) {
+                if (loaded && userId >= 0 && userId <= Integer.MAX_VALUE && activeIds.get(userId.intValue())) {
+                    active.add(userId);
+                } else {
+                    misses.add(userId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        bitmapHits.increment(active.size());
+
+        if (!misses.isEmpty()) {
+            databaseChecks.increment(misses.size());
+            for (Long userId : userRepository.findActiveIdsByIdIn(misses)) {
+                set(userId, true);
+                active.add(userId);
+            }
+        }
+        return active;
+    }
+
+    public void markActiveAfterCommit(Long userId) {
+        afterCommit(() -> set(userId, true));
+    }
+
+    public void markInactiveAfterCommit(Long userId) {
+        afterCommit(() -> set(userId, false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user-registry.reload-interval-ms:300000}", initialDelayString = "${user-registry.reload-interval-ms:300000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            recordChanges(new HashMap<>());
+            BitSet reloaded = new BitSet();
+            try {
+                for (Long id : userRepository.findActiveIds()) {
+                    if (id <= Integer.MAX_VALUE) {
+                        reloaded.set(id.intValue());
+                    }
+                }
+            } catch (RuntimeException e) {
+                recordChanges(null);
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                changesDuringReload.forEach(reloaded::set);
+                changesDuringReload = null;
+                activeIds = reloaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loaded = true;
+            log.debug("Loaded {} active user ids into the existence registry", reloaded.cardinality());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void recordChanges(Map<Integer, Boolean> changes) {
+        lock.writeLock().lock();
+        try {
+            changesDuringReload = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void set(Long userId, boolean active) {
+        if (userId < 0 || userId > Integer.MAX_VALUE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            activeIds.set(userId.intValue(), active);
+            if (changesDuringReload != null) {
+                changesDuringReload.put(userId.intValue(), active);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return activeIds.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
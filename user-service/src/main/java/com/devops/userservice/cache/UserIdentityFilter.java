@@ -0,0 +1,110 @@
+package com.devops.userservice.cache;
+
+import com.devops.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+@Slf4j
+@Component
+public class UserIdentityFilter {
+
+    private static final String USERNAME = "username";
+    private static final String EMAIL = "email";
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user-identity-filter.expected-insertions:1000000}")
+    private long minExpectedInsertions;
+
+    @Value("${user-identity-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Null until the first build finishes; every check goes to the database until then
+    private volatile Filters filters;
+
+    public UserIdentityFilter(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("users.identity.filter.memory", this, filter -> filter.filters != null
+                        ? filter.filters.usernames().sizeInBytes() + filter.filters.emails().sizeInBytes() : 0)
+                .description("Memory held by the username and email Bloom filters")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("users.identity.filter.false.positive.rate", this, filter -> filter.filters != null
+                        ? filter.filters.usernames().estimatedFalsePositiveRate() : 1.0)
+                .description("Estimated false-positive rate of the username Bloom filter")
+                .tag("field", USERNAME)
+                .register(meterRegistry);
+        Gauge.builder("users.identity.filter.false.positive.rate", this, filter -> filter.filters != null
+                        ? filter.filters.emails().estimatedFalsePositiveRate() : 1.0)
+                .description("Estimated false-positive rate of the email Bloom filter")
+                .tag("field", EMAIL)
+                .register(meterRegistry);
+    }
+
+    public boolean isUsernameTaken(String username) {
+        Filters current = filters;
+        return isTaken(USERNAME, username, current != null ? current.usernames() : null, userRepository::existsByUsername);
+    }
+
+    public boolean isEmailTaken(String email) {
+        Filters current = filters;
+        return isTaken(EMAIL, email, current != null ? current.emails() : null, userRepository::existsByEmail);
+    }
+
+    // Added as soon as the row is written; if the transaction rolls back the filter only gains a false positive
+    public void add(String username, String email) {
+        Filters current = filters;
+        if (current != null) {
+            current.usernames().add(username);
+            current.emails().add(email);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user-identity-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${user-identity-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        List<Object[]> identities = userRepository.findAllUsernamesAndEmails();
+        // Twice the current population leaves room to grow before the next rebuild re-sizes the filters
+        long expected = Math.max(minExpectedInsertions, identities.size() * 2L);
+        BloomFilter usernames = new BloomFilter(expected, falsePositiveRate);
+        BloomFilter emails = new BloomFilter(expected, falsePositiveRate);
+        for (Object[] identity : identities) {
+            usernames.add((String) identity[0]);
+            emails.add((String) identity[1]);
+        }
+
+        filters = new Filters(usernames, emails);
+        log.debug("Built username/email Bloom filters over {} users ({} bytes)", identities.size(),
+                usernames.sizeInBytes() + emails.sizeInBytes());
+    }
+
+    private boolean isTaken(String field, String value, BloomFilter filter, Predicate<String> existsInDatabase) {
+        if (filter != null && !filter.mightContain(value)) {
+            meterRegistry.counter("users.identity.filter.checks", "field", field, "result", "definite_miss").increment();
+            return false;
+        }
+
+        boolean exists = existsInDatabase.test(value);
+        if (filter != null) {
+            meterRegistry.counter("users.identity.filter.checks", "field", field,
+                    "result", exists ? "confirmed_hit" : "false_positive").increment();
+        }
+        return exists;
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+    }
+}
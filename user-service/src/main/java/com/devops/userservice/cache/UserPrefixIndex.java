@@ -0,0 +1,201 @@
+package com.devops.userservice.cache;
+
+import com.devops.userservice.model.dto.response.UserSuggestionResponseDto;
+import com.devops.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class UserPrefixIndex {
+
+    private final UserRepository userRepository;
+
+    // Lower-cased username/email plus id -> user id, ordered so a prefix is one contiguous range; byId lets an
+    // update or delete find the keys it has to drop
+    private volatile Index index = new Index();
+    private volatile boolean loaded;
+
+    // Changes committed while a reload reads its snapshot are recorded per user (null for a removal) and
+    // replayed onto the new index before it replaces the old one, so none of them is lost in the swap
+    private final ReentrantLock changeLock = new ReentrantLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private Map<Long, Identity> changesDuringReload;
+
+    public UserPrefixIndex(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        Gauge.builder("users.prefix.index.size", this, prefixIndex -> prefixIndex.index.byId.size())
+                .description("Active users held in the username/email autocomplete index")
+                .register(meterRegistry);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Walks at most limit keys from each map: the cost depends on K, not on how many users share the prefix
+    public List<UserSuggestionResponseDto> suggest(String prefix, int limit) {
+        Index current = index;
+        String from = normalize(prefix);
+        Map<Long, UserSuggestionResponseDto> matches = new LinkedHashMap<>();
+        collect(current.usernames.tailMap(from, true), from, current, limit, matches);
+        collect(current.emails.tailMap(from, true), from, current, limit, matches);
+
+        List<UserSuggestionResponseDto> suggestions = new ArrayList<>(matches.values());
+        suggestions.sort((first, second) -> first.getUsername().compareToIgnoreCase(second.getUsername()));
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    public void putAfterCommit(Long userId, String username, String email) {
+        afterCommit(() -> apply(userId, new Identity(username, email)));
+    }
+
+    public void removeAfterCommit(Long userId) {
+        afterCommit(() -> apply(userId, null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user-prefix-index.reload-interval-ms:600000}",
+            initialDelayString = "${user-prefix-index.reload-interval-ms:600000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            recordChanges(new HashMap<>());
+            Index reloaded = new Index();
+            try {
+                for (Object[] user : userRepository.findActiveIdentities()) {
+                    put(reloaded, (Long) user[0], (String) user[1], (String) user[2]);
+                }
+            } catch (RuntimeException e) {
+                recordChanges(null);
+                throw e;
+            }
+
+            changeLock.lock();
+            try {
+                changesDuringReload.forEach((userId, identity) -> apply(reloaded, userId, identity));
+                changesDuringReload = null;
+                index = reloaded;
+            } finally {
+                changeLock.unlock();
+            }
+            loaded = true;
+            log.debug("Loaded {} active users into the autocomplete index", reloaded.byId.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void collect(NavigableMap<String, Long> candidates, String prefix, Index current, int limit,
+                         Map<Long, UserSuggestionResponseDto> matches) {
+        int taken = 0;
+        for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+            if (taken >= limit || !candidate.getKey().startsWith(prefix)) {
+                return;
+            }
+            Identity identity = current.byId.get(candidate.getValue());
+            if (identity != null) {
+                matches.putIfAbsent(candidate.getValue(),
+                        new UserSuggestionResponseDto(candidate.getValue(), identity.username(), identity.email()));
+                taken++;
+            }
+        }
+    }
+
+    private void recordChanges(Map<Long, Identity> changes) {
+        changeLock.lock();
+        try {
+            changesDuringReload = changes;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private void apply(Long userId, Identity identity) {
+        changeLock.lock();
+        try {
+            apply(index, userId, identity);
+            if (changesDuringReload != null) {
+                changesDuringReload.put(userId, identity);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private static void apply(Index target, Long userId, Identity identity) {
+        if (identity != null) {
+            put(target, userId, identity.username(), identity.email());
+        } else {
+            remove(target, userId);
+        }
+    }
+
+    private static void put(Index target, Long userId, String username, String email) {
+        Identity previous = target.byId.put(userId, new Identity(username, email));
+        if (previous != null) {
+            target.usernames.remove(key(previous.username(), userId));
+            target.emails.remove(key(previous.email(), userId));
+        }
+        target.usernames.put(key(username, userId), userId);
+        target.emails.put(key(email, userId), userId);
+    }
+
+    private static void remove(Index target, Long userId) {
+        Identity previous = target.byId.remove(userId);
+        if (previous != null) {
+            target.usernames.remove(key(previous.username(), userId));
+            target.emails.remove(key(previous.email(), userId));
+        }
+    }
+
+    // Values that differ only in case normalise to the same string; the id suffix keeps one key per user, and
+    // '\0' sorts before any character, so the keys still share the plain value's prefix range
+    private static String key(String value, Long userId) {
+        return normalize(value) + '\0' + userId;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Identity(String username, String email) {
+    }
+
+    private static final class Index {
+        private final ConcurrentSkipListMap<String, Long> usernames = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<String, Long> emails = new ConcurrentSkipListMap<>();
+        private final Map<Long, Identity> byId = new ConcurrentHashMap<>();
+    }
+}
@@ -24,6 +24,12 @@ public class AddressController {
         return ResponseEntity.ok(addresses);
     }
 
+    @GetMapping("/default")
+    public ResponseEntity<AddressResponseDto> getDefaultAddress(@PathVariable Long userId) {
+        AddressResponseDto address = addressService.getDefaultAddress(userId);
+        return ResponseEntity.ok(address);
+    }
+
     @GetMapping("/{addressId}")
     public ResponseEntity<AddressResponseDto> getAddressById(@PathVariable Long userId,
                                                              @PathVariable Long addressId) {
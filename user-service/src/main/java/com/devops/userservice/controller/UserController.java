@@ -1,14 +1,24 @@
 package com.devops.userservice.controller;
 
+import com.devops.serviceclient.deadline.RequestDeadline;
+import com.devops.userservice.model.dto.request.UserLookupRequestDto;
 import com.devops.userservice.model.dto.request.UserRequestDto;
+import com.devops.userservice.model.dto.response.UserExistenceResponseDto;
+import com.devops.userservice.model.dto.response.UserLookupResponseDto;
+import com.devops.userservice.model.dto.response.UserPageResponseDto;
 import com.devops.userservice.model.dto.response.UserResponseDto;
+import com.devops.userservice.model.dto.response.UserSuggestionResponseDto;
+import com.devops.userservice.service.UserLookupService;
 import com.devops.userservice.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -17,6 +27,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserLookupService userLookupService;
 
     @GetMapping
     public ResponseEntity<List<UserResponseDto>> getAllUsers() {
@@ -30,6 +41,33 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    // Active users only, unlike GET /{id}, which also returns deactivated users; hence its own path
+    @RequestMapping(value = "/{id}/active", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public ResponseEntity<Void> checkUserExists(@PathVariable Long id) {
+        return userService.userExists(id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/exists")
+    public ResponseEntity<UserExistenceResponseDto> checkUsersExist(@RequestParam List<Long> ids) {
+        UserExistenceResponseDto existence = userService.checkUsersExist(ids);
+        return ResponseEntity.ok(existence);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<UserLookupResponseDto> lookupUsersAndAddresses(@Valid @RequestBody UserLookupRequestDto requestDto) {
+        UserLookupResponseDto lookup = userLookupService.lookup(requestDto);
+        return ResponseEntity.ok(lookup);
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<UserSuggestionResponseDto>> suggestUsers(@RequestParam String prefix,
+                                                                        @RequestParam(required = false) Integer limit) {
+        List<UserSuggestionResponseDto> suggestions = userService.suggestUsers(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     @GetMapping("/username/{username}")
     public ResponseEntity<UserResponseDto> getUserByUsername(@PathVariable String username) {
         UserResponseDto user = userService.getUserByUsername(username);
@@ -55,9 +93,22 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    // Same JSON array as before, now streamed page by page instead of built in memory
     @GetMapping("/with-addresses")
-    public ResponseEntity<List<UserResponseDto>> getAllUsersWithAddresses() {
-        List<UserResponseDto> users = userService.getAllUsersWithAddresses();
-        return ResponseEntity.ok(users);
+    public void getAllUsersWithAddresses(@RequestParam(defaultValue = "false") boolean hasDefaultAddress,
+                                         HttpServletResponse response) throws IOException {
+        // Runs for as long as there are users, so the request budget does not cap its page transactions
+        RequestDeadline.clear();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        userService.streamUsersWithAddresses(hasDefaultAddress, response.getOutputStream());
+    }
+
+    @GetMapping(value = "/with-addresses", params = "limit")
+    public ResponseEntity<UserPageResponseDto> getUsersWithAddressesPage(@RequestParam int limit,
+                                                                         @RequestParam(required = false) Long afterId,
+                                                                         @RequestParam(defaultValue = "false") boolean hasDefaultAddress) {
+        UserPageResponseDto page = userService.getUsersWithAddresses(afterId, limit, hasDefaultAddress);
+        return ResponseEntity.ok(page);
     }
 }
\ No newline at end of file
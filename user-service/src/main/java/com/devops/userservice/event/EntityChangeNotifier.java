@@ -0,0 +1,22 @@
+package com.devops.userservice.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Tells the near-caches in cart, order and review services that a user changed. pg_notify is sent on the
+// writing transaction, so Postgres delivers it only on commit and drops it on rollback.
+@Component
+@RequiredArgsConstructor
+public class EntityChangeNotifier {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${entity-changes.channel:entity_changes}")
+    private String channel;
+
+    public void userChanged(Long userId) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> { }, channel, "user:" + userId);
+    }
+}
\ No newline at end of file
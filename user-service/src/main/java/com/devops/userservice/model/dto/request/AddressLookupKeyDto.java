@@ -0,0 +1,18 @@
+package com.devops.userservice.model.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddressLookupKeyDto {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Address ID is required")
+    private Long addressId;
+}
@@ -0,0 +1,20 @@
+package com.devops.userservice.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupRequestDto {
+
+    private List<@NotNull Long> userIds = new ArrayList<>();
+
+    private List<@Valid @NotNull AddressLookupKeyDto> addresses = new ArrayList<>();
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 @Data
 public class AddressResponseDto {
     private Long id;
+    private Long userId;
     private AddressType type;
     private String firstName;
     private String lastName;
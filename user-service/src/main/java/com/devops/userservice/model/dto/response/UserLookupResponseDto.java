@@ -0,0 +1,15 @@
+package com.devops.userservice.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupResponseDto {
+    private List<UserResponseDto> users;
+    private List<AddressResponseDto> addresses;
+}
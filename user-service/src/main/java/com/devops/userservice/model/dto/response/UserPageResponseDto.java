@@ -0,0 +1,16 @@
+package com.devops.userservice.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponseDto {
+    private List<UserResponseDto> users;
+    private Long nextAfterId;
+    private Boolean hasMore;
+}
@@ -0,0 +1,14 @@
+package com.devops.userservice.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSuggestionResponseDto {
+    private Long id;
+    private String username;
+    private String email;
+}
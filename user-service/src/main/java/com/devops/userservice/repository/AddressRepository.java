@@ -3,8 +3,13 @@ package com.devops.userservice.repository;
 import com.devops.userservice.model.entity.Address;
 import com.devops.userservice.model.enums.AddressType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +23,11 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
     List<Address> findByUserIdAndTypeAndActiveTrue(Long userId, AddressType type);
 
     Optional<Address> findByIdAndUserIdAndActiveTrue(Long id, Long userId);
+
+    List<Address> findByIdInAndActiveTrue(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Address a SET a.isDefault = false, a.updatedAt = :now " +
+            "WHERE a.user.id = :userId AND a.isDefault = true AND a.active = true")
+    int clearDefault(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.devops.userservice.repository;
 
 import com.devops.userservice.model.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +23,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     Optional<User> findByUsernameAndActiveTrue(String username);
-}
\ No newline at end of file
+
+    boolean existsByIdAndActiveTrue(Long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.active = true")
+    List<Long> findActiveIds();
+
+    @Query("SELECT u.id FROM User u WHERE u.active = true AND u.id IN :ids")
+    List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.username, u.email FROM User u")
+    List<Object[]> findAllUsernamesAndEmails();
+
+    @Query("SELECT u.id, u.username, u.email FROM User u WHERE u.active = true")
+    List<Object[]> findActiveIdentities();
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND EXISTS " +
+            "(SELECT a.id FROM Address a WHERE a.user = u AND a.isDefault = true AND a.active = true) ORDER BY u.id")
+    List<Long> findIdPageWithDefaultAddress(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.addresses WHERE u.id IN :ids ORDER BY u.id")
+    List<User> findWithAddressesByIdIn(@Param("ids") Collection<Long> ids);
+}
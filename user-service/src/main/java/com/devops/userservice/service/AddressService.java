@@ -1,5 +1,6 @@
 package com.devops.userservice.service;
 
+import com.devops.userservice.exception.DuplicateResourceException;
 import com.devops.userservice.exception.ResourceNotFoundException;
 import com.devops.userservice.model.dto.request.AddressRequestDto;
 import com.devops.userservice.model.dto.response.AddressResponseDto;
@@ -7,15 +8,23 @@ import com.devops.userservice.model.entity.Address;
 import com.devops.userservice.model.entity.User;
 import com.devops.userservice.repository.AddressRepository;
 import com.devops.userservice.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class AddressService {
 
@@ -25,6 +34,25 @@ public class AddressService {
 
     private static final String ADDRESS = "address";
 
+    // Keyed by user id; a cached empty Optional records that the user has no default address
+    private final Cache<Long, Optional<AddressResponseDto>> defaultAddressCache;
+    // Bumped on every committed address write so a read that raced with it does not cache what it loaded
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AddressService(AddressRepository addressRepository,
+                          UserRepository userRepository,
+                          ModelMapper modelMapper,
+                          @Value("${default-address.cache.ttl-ms:60000}") long cacheTtlMs,
+                          @Value("${default-address.cache.max-entries:10000}") long cacheMaxEntries) {
+        this.addressRepository = addressRepository;
+        this.userRepository = userRepository;
+        this.modelMapper = modelMapper;
+        this.defaultAddressCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public List<AddressResponseDto> getUserAddresses(Long userId) {
         validateUserExists(userId);
@@ -40,6 +68,22 @@ public class AddressService {
         return mapToResponseDto(address);
     }
 
+    @Transactional(readOnly = true)
+    public AddressResponseDto getDefaultAddress(Long userId) {
+        Optional<AddressResponseDto> cached = defaultAddressCache.getIfPresent(userId);
+        if (cached == null) {
+            long stamp = invalidations.get();
+            cached = addressRepository.findByUserIdAndIsDefaultTrueAndActiveTrue(userId)
+                    .map(this::mapToResponseDto);
+            if (invalidations.get() == stamp) {
+                defaultAddressCache.put(userId, cached);
+            }
+        }
+
+        return cached
+                .orElseThrow(() -> new ResourceNotFoundException("Default address", "userId", userId));
+    }
+
     public AddressResponseDto createAddress(Long userId, AddressRequestDto requestDto) {
         User user = findUserById(userId);
 
@@ -47,10 +91,11 @@ public class AddressService {
         address.setUser(user);
 
         if (requestDto.getIsDefault()) {
-            clearDefaultAddresses(userId);
+            addressRepository.clearDefault(userId, LocalDateTime.now());
         }
 
-        Address savedAddress = addressRepository.save(address);
+        Address savedAddress = saveAndFlush(userId, address);
+        evictDefaultAfterCommit(userId);
         return mapToResponseDto(savedAddress);
     }
 
@@ -59,11 +104,12 @@ public class AddressService {
                 .orElseThrow(() -> new ResourceNotFoundException(ADDRESS, "id", addressId));
 
         if (requestDto.getIsDefault() && !existingAddress.getIsDefault()) {
-            clearDefaultAddresses(userId);
+            addressRepository.clearDefault(userId, LocalDateTime.now());
         }
 
         modelMapper.map(requestDto, existingAddress);
-        Address updatedAddress = addressRepository.save(existingAddress);
+        Address updatedAddress = saveAndFlush(userId, existingAddress);
+        evictDefaultAfterCommit(userId);
         return mapToResponseDto(updatedAddress);
     }
 
@@ -72,6 +118,7 @@ public class AddressService {
                 .orElseThrow(() -> new ResourceNotFoundException(ADDRESS, "id", addressId));
         address.setActive(false);
         addressRepository.save(address);
+        evictDefaultAfterCommit(userId);
     }
 
     private void validateUserExists(Long userId) {
@@ -85,12 +132,25 @@ public class AddressService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
     }
 
-    private void clearDefaultAddresses(Long userId) {
-        addressRepository.findByUserIdAndIsDefaultTrueAndActiveTrue(userId)
-                .ifPresent(defaultAddress -> {
-                    defaultAddress.setIsDefault(false);
-                    addressRepository.save(defaultAddress);
-                });
+    // The partial unique index on (user_id) WHERE is_default AND active is what actually keeps a user to one
+    // default: a concurrent switch that slipped past our clearing UPDATE fails here instead of committing a second one
+    private Address saveAndFlush(Long userId, Address address) {
+        try {
+            return addressRepository.saveAndFlush(address);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("Default address for user " + userId
+                    + " was changed by a concurrent request, please retry");
+        }
+    }
+
+    private void evictDefaultAfterCommit(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidations.incrementAndGet();
+                defaultAddressCache.invalidate(userId);
+            }
+        });
     }
 
     private Address mapToEntity(AddressRequestDto dto) {
@@ -98,6 +158,8 @@ public class AddressService {
     }
 
     private AddressResponseDto mapToResponseDto(Address address) {
-        return modelMapper.map(address, AddressResponseDto.class);
+        AddressResponseDto dto = modelMapper.map(address, AddressResponseDto.class);
+        dto.setUserId(address.getUser().getId());
+        return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.devops.userservice.service;
+
+import com.devops.userservice.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashingPool;
+    private final ExecutorService monitoredPool;
+    private final Timer hashLatency;
+    private final Counter rejections;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+
+    // BCrypt is pure CPU work; keeping it on its own small pool with a bounded queue means a signup burst
+    // queues (or is turned away) here instead of competing with the request threads serving user lookups
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${password-hashing.strength:10}") int strength,
+                                  @Value("${password-hashing.pool-size:0}") int poolSize,
+                                  @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${password-hashing.timeout-ms:5000}") long timeoutMs,
+                                  @Value("${password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.hashingPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.monitoredPool = ExecutorServiceMetrics.monitor(meterRegistry, hashingPool, "password.hashing");
+        this.hashLatency = Timer.builder("password.hashing.latency")
+                .description("Time from submitting a password until its hash is ready, queueing included")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("password.hashing.rejected")
+                .description("Password hashes turned away because the hashing pool was saturated or too slow")
+                .register(meterRegistry);
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String hash(String rawPassword) {
+        Timer.Sample sample = Timer.start();
+        Future<String> hash;
+        try {
+            hash = monitoredPool.submit(() -> passwordEncoder.encode(rawPassword));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw busy();
+        }
+
+        try {
+            return hash.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            hash.cancel(true);
+            rejections.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            sample.stop(hashLatency);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Runnable> pending = hashingPool.shutdownNow();
+        if (!pending.isEmpty()) {
+            log.info("Dropped {} queued password hashes on shutdown", pending.size());
+        }
+    }
+
+    private ServiceBusyException busy() {
+        return new ServiceBusyException("Too many account updates in progress, please retry shortly", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,72 @@
+package com.devops.userservice.service;
+
+import com.devops.userservice.model.dto.request.AddressLookupKeyDto;
+import com.devops.userservice.model.dto.request.UserLookupRequestDto;
+import com.devops.userservice.model.dto.response.AddressResponseDto;
+import com.devops.userservice.model.dto.response.UserLookupResponseDto;
+import com.devops.userservice.model.dto.response.UserResponseDto;
+import com.devops.userservice.model.entity.Address;
+import com.devops.userservice.repository.AddressRepository;
+import com.devops.userservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserLookupService {
+
+    private final UserRepository userRepository;
+    private final AddressRepository addressRepository;
+    private final ModelMapper modelMapper;
+
+    @Value("${user-lookup.max-batch-size:500}")
+    private int maxBatchSize;
+
+    // Two IN queries regardless of how many orders or reviews the caller is enriching. Ids that do not
+    // resolve are simply absent from the response, matching what the single lookups would 404 on.
+    public UserLookupResponseDto lookup(UserLookupRequestDto requestDto) {
+        Set<Long> userIds = new LinkedHashSet<>(requestDto.getUserIds());
+        Set<AddressLookupKeyDto> addressKeys = new LinkedHashSet<>(requestDto.getAddresses());
+        if (userIds.size() > maxBatchSize || addressKeys.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " users and " + maxBatchSize
+                    + " addresses can be looked up at once");
+        }
+
+        List<UserResponseDto> users = userIds.isEmpty() ? List.of() : userRepository.findAllById(userIds).stream()
+                .map(user -> modelMapper.map(user, UserResponseDto.class))
+                .toList();
+
+        return new UserLookupResponseDto(users, lookupAddresses(addressKeys));
+    }
+
+    private List<AddressResponseDto> lookupAddresses(Set<AddressLookupKeyDto> addressKeys) {
+        if (addressKeys.isEmpty()) {
+            return List.of();
+        }
+
+        // An address only resolves under the user it belongs to, as with GET /api/users/{userId}/addresses/{id}
+        Set<Long> addressIds = addressKeys.stream()
+                .map(AddressLookupKeyDto::getAddressId)
+                .collect(Collectors.toSet());
+
+        return addressRepository.findByIdInAndActiveTrue(addressIds).stream()
+                .filter(address -> addressKeys.contains(new AddressLookupKeyDto(address.getUser().getId(), address.getId())))
+                .map(this::mapToResponseDto)
+                .toList();
+    }
+
+    private AddressResponseDto mapToResponseDto(Address address) {
+        AddressResponseDto dto = modelMapper.map(address, AddressResponseDto.class);
+        dto.setUserId(address.getUser().getId());
+        return dto;
+    }
+}
@@ -1,20 +1,41 @@
 package com.devops.userservice.service;
 
+import com.devops.userservice.cache.ActiveUserRegistry;
+import com.devops.userservice.cache.UserIdentityFilter;
+import com.devops.userservice.cache.UserPrefixIndex;
+import com.devops.userservice.event.EntityChangeNotifier;
 import com.devops.userservice.exception.DuplicateResourceException;
 import com.devops.userservice.exception.ResourceNotFoundException;
+import com.devops.userservice.exception.ServiceBusyException;
 import com.devops.userservice.model.dto.request.UserRequestDto;
 import com.devops.userservice.model.dto.response.AddressResponseDto;
+import com.devops.userservice.model.dto.response.UserExistenceResponseDto;
+import com.devops.userservice.model.dto.response.UserPageResponseDto;
 import com.devops.userservice.model.dto.response.UserResponseDto;
+import com.devops.userservice.model.dto.response.UserSuggestionResponseDto;
 import com.devops.userservice.model.entity.Address;
 import com.devops.userservice.model.entity.User;
 import com.devops.userservice.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -23,7 +44,25 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ActiveUserRegistry activeUserRegistry;
+    private final UserIdentityFilter userIdentityFilter;
+    private final ObjectMapper objectMapper;
+    private final UserPrefixIndex userPrefixIndex;
+    private final EntityChangeNotifier entityChangeNotifier;
+    private final EntityManager entityManager;
+
+    private static final int MAX_EXISTENCE_BATCH = 1000;
+
+    @Value("${users.autocomplete.default-limit:10}")
+    private int defaultSuggestions;
+
+    @Value("${users.autocomplete.max-limit:50}")
+    private int maxSuggestions;
+
+    @Value("${users.with-addresses.page-size:500}")
+    private int withAddressesPageSize;
 
     @Transactional(readOnly = true)
     public List<UserResponseDto> getAllUsers() {
@@ -33,20 +72,78 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getAllUsersWithAddresses() {
-        return userRepository.findAll().stream()
+    public UserPageResponseDto getUsersWithAddresses(Long afterId, int limit, boolean defaultAddressOnly) {
+        int pageSize = Math.min(limit > 0 ? limit : withAddressesPageSize, withAddressesPageSize);
+
+        // One extra row tells whether another page exists without a COUNT
+        List<UserResponseDto> rows = loadUsersWithAddresses(afterId != null ? afterId : 0L, pageSize + 1, defaultAddressOnly);
+        boolean hasMore = rows.size() > pageSize;
+        List<UserResponseDto> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return new UserPageResponseDto(page, hasMore ? page.get(page.size() - 1).getId() : null, hasMore);
+    }
+
+    // Writes the JSON array one keyset page at a time, each page in its own short transaction, so neither the
+    // whole user base nor a database connection is held for the length of the response
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long streamUsersWithAddresses(boolean defaultAddressOnly, OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            // If a page fails the array must stay open, so the client sees invalid JSON rather than a short list
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.writeStartArray();
+            long afterId = 0L;
+            List<UserResponseDto> page;
+            do {
+                long cursor = afterId;
+                page = transactionTemplate.execute(status -> {
+                    List<UserResponseDto> rows = loadUsersWithAddresses(cursor, withAddressesPageSize, defaultAddressOnly);
+                    // Open-in-view keeps one persistence context for the whole request; without clearing it every
+                    // page's users and addresses would stay managed until the response ends
+                    entityManager.clear();
+                    return rows;
+                });
+                for (UserResponseDto user : page) {
+                    generator.writeObject(user);
+                }
+                generator.flush();
+
+                count += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == withAddressesPageSize);
+            generator.writeEndArray();
+        }
+        return count;
+    }
+
+    // A page of ids first, then one fetch join for those users and all their addresses: two queries per page
+    // instead of one per user, and no in-memory pagination of a collection fetch
+    private List<UserResponseDto> loadUsersWithAddresses(long afterId, int pageSize, boolean defaultAddressOnly) {
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<Long> ids = defaultAddressOnly
+                ? userRepository.findIdPageWithDefaultAddress(afterId, page)
+                : userRepository.findIdPage(afterId, page);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return userRepository.findWithAddressesByIdIn(ids).stream()
                 .map(this::mapToResponseDtoWithAddresses)
                 .toList();
     }
 
-    // Add this mapping method
     private UserResponseDto mapToResponseDtoWithAddresses(User user) {
         UserResponseDto dto = modelMapper.map(user, UserResponseDto.class);
 
         // Map addresses
         List<AddressResponseDto> addresses = user.getAddresses().stream()
                 .filter(Address::getActive)
-                .map(address -> modelMapper.map(address, AddressResponseDto.class))
+                .map(address -> {
+                    AddressResponseDto addressDto = modelMapper.map(address, AddressResponseDto.class);
+                    addressDto.setUserId(user.getId());
+                    return addressDto;
+                })
                 .toList();
 
         dto.setAddresses(addresses);
@@ -59,6 +156,40 @@ public class UserService {
         return mapToResponseDto(user);
     }
 
+    // A bitmap hit needs no connection; a miss is confirmed in the repository's own read-only transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean userExists(Long id) {
+        return activeUserRegistry.isActive(id);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserExistenceResponseDto checkUsersExist(List<Long> ids) {
+        if (ids.size() > MAX_EXISTENCE_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_EXISTENCE_BATCH + " ids can be checked at once");
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Set<Long> active = activeUserRegistry.filterActive(requested);
+        List<Long> existingIds = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            (active.contains(id) ? existingIds : missingIds).add(id);
+        }
+        return new UserExistenceResponseDto(existingIds, missingIds);
+    }
+
+    // Answered entirely from the in-memory index, so no transaction or connection is needed
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<UserSuggestionResponseDto> suggestUsers(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix must not be blank");
+        }
+        if (!userPrefixIndex.isLoaded()) {
+            throw new ServiceBusyException("User autocomplete is still warming up, please retry shortly", 1);
+        }
+        int size = Math.min(limit != null && limit > 0 ? limit : defaultSuggestions, maxSuggestions);
+        return userPrefixIndex.suggest(prefix.trim(), size);
+    }
+
     @Transactional(readOnly = true)
     public UserResponseDto getUserByUsername(String username) {
         User user = userRepository.findByUsernameAndActiveTrue(username)
@@ -66,37 +197,61 @@ public class UserService {
         return mapToResponseDto(user);
     }
 
+    // Hashing runs before the transaction starts so no database connection is held while it waits for the hashing pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponseDto createUser(UserRequestDto requestDto) {
         validateUniqueFields(requestDto.getUsername(), requestDto.getEmail());
+        String passwordHash = passwordHashingService.hash(requestDto.getPassword());
 
-        User user = mapToEntity(requestDto);
-        user.setPasswordHash(passwordEncoder.encode(requestDto.getPassword()));
+        return saveGuardingUniqueness(requestDto, () -> transactionTemplate.execute(status -> {
+            User user = mapToEntity(requestDto);
+            user.setPasswordHash(passwordHash);
 
-        User savedUser = userRepository.save(user);
-        return mapToResponseDto(savedUser);
+            User savedUser = userRepository.save(user);
+            userIdentityFilter.add(savedUser.getUsername(), savedUser.getEmail());
+            activeUserRegistry.markActiveAfterCommit(savedUser.getId());
+            userPrefixIndex.putAfterCommit(savedUser.getId(), savedUser.getUsername(), savedUser.getEmail());
+            entityChangeNotifier.userChanged(savedUser.getId());
+            return mapToResponseDto(savedUser);
+        }));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponseDto updateUser(Long id, UserRequestDto requestDto) {
+        String passwordHash = requestDto.getPassword() != null && !requestDto.getPassword().isEmpty()
+                ? passwordHashingService.hash(requestDto.getPassword())
+                : null;
+
+        return saveGuardingUniqueness(requestDto,
+                () -> transactionTemplate.execute(status -> applyUpdate(id, requestDto, passwordHash)));
+    }
+
+    private UserResponseDto applyUpdate(Long id, UserRequestDto requestDto, String passwordHash) {
         User existingUser = findUserById(id);
 
         // Check for uniqueness only if username/email changed
         if (!existingUser.getUsername().equals(requestDto.getUsername()) &&
-                userRepository.existsByUsername(requestDto.getUsername())) {
+                userIdentityFilter.isUsernameTaken(requestDto.getUsername())) {
                 throw new DuplicateResourceException("User", "username", requestDto.getUsername());
             }
 
         if (!existingUser.getEmail().equals(requestDto.getEmail()) &&
-                userRepository.existsByEmail(requestDto.getEmail())) {
+                userIdentityFilter.isEmailTaken(requestDto.getEmail())) {
                 throw new DuplicateResourceException("User", "email", requestDto.getEmail());
             }
 
 
         modelMapper.map(requestDto, existingUser);
-        if (requestDto.getPassword() != null && !requestDto.getPassword().isEmpty()) {
-            existingUser.setPasswordHash(passwordEncoder.encode(requestDto.getPassword()));
+        if (passwordHash != null) {
+            existingUser.setPasswordHash(passwordHash);
         }
 
-        User updatedUser = userRepository.save(existingUser);
+        User updatedUser = userRepository.saveAndFlush(existingUser);
+        userIdentityFilter.add(updatedUser.getUsername(), updatedUser.getEmail());
+        if (Boolean.TRUE.equals(updatedUser.getActive())) {
+            userPrefixIndex.putAfterCommit(updatedUser.getId(), updatedUser.getUsername(), updatedUser.getEmail());
+        }
+        entityChangeNotifier.userChanged(updatedUser.getId());
         return mapToResponseDto(updatedUser);
     }
 
@@ -104,6 +259,9 @@ public class UserService {
         User user = findUserById(id);
         user.setActive(false);
         userRepository.save(user);
+        activeUserRegistry.markInactiveAfterCommit(id);
+        userPrefixIndex.removeAfterCommit(id);
+        entityChangeNotifier.userChanged(id);
     }
 
     private User findUserById(Long id) {
@@ -112,14 +270,25 @@ public class UserService {
     }
 
     private void validateUniqueFields(String username, String email) {
-        if (userRepository.existsByUsername(username)) {
+        if (userIdentityFilter.isUsernameTaken(username)) {
             throw new DuplicateResourceException("User", "username", username);
         }
-        if (userRepository.existsByEmail(email)) {
+        if (userIdentityFilter.isEmailTaken(email)) {
             throw new DuplicateResourceException("User", "email", email);
         }
     }
 
+    // The identity filter on another instance may not have seen a concurrent signup yet, so the unique
+    // constraints remain the final word and their violation is reported the same way as the pre-check
+    private UserResponseDto saveGuardingUniqueness(UserRequestDto requestDto, Supplier<UserResponseDto> save) {
+        try {
+            return save.get();
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("User with username " + requestDto.getUsername()
+                    + " or email " + requestDto.getEmail() + " already exists");
+        }
+    }
+
     private User mapToEntity(UserRequestDto dto) {
         return modelMapper.map(dto, User.class);
     }